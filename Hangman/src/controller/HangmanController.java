@@ -1,7 +1,16 @@
 package controller;
 
 import apptemplate.AppTemplate;
+import data.Autosaver;
+import data.Difficulty;
 import data.GameData;
+import data.GameDataFile;
+import data.GameEngine;
+import data.InputQueue;
+import data.SavedGamesCatalog;
+import gui.KeystrokeTracer;
+import gui.PerformanceMonitor;
+import gui.SavedGamesBrowser;
 import gui.Workspace;
 import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
@@ -9,12 +18,9 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.HBox;
-import javafx.scene.layout.StackPane;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import javafx.scene.text.Text;
 import javafx.stage.FileChooser;
-import javafx.stage.FileChooser.ExtensionFilter;
 import propertymanager.PropertyManager;
 import ui.AppMessageDialogSingleton;
 import ui.OkayButtonDialog;
@@ -22,10 +28,19 @@ import ui.YesNoCancelDialogSingleton;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Set;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static hangman.HangmanProperties.AUTOSAVE_FILE;
+import static hangman.HangmanProperties.AUTOSAVE_INTERVAL;
+import static hangman.HangmanProperties.EXIT_ANYWAY_MESSAGE;
+import static hangman.HangmanProperties.EXIT_ANYWAY_TITLE;
+import static hangman.HangmanProperties.GAME_DIFFICULTY;
 import static settings.AppPropertyType.*;
 import static settings.InitializationParameters.APP_WORKDIR_PATH;
 
@@ -44,16 +59,26 @@ public class HangmanController implements FileController {
     private AppTemplate appTemplate; // shared reference to the application
     private GameData    gamedata;    // shared reference to the game being played, loaded or saved
     private GameState   gamestate;   // the state of the game being shown in the workspace
-    private Text[]      progress;    // reference to the text area for the word
-    private boolean     success;     // whether or not player was successful
-    private int         discovered;  // the number of letters already discovered
     private Button      gameButton;  // shared reference to the "start game" button
     private Button      hintButton;  // shared reference to the "start game" button
     private Label       remains;// dynamically updated label that indicates the number of remaining guesses
     private Label       badGuessesLabel;
     private Path        workFile;
     private String      badGuesses = "";  //updates in method badGuessUpdateGraphics
-    private HBox        littleBoxes;
+    private boolean     playing;             // whether typed keys are currently fed into the game
+    private boolean     keyHandlerInstalled; // whether the key handler has been installed on the primary scene
+    private int         changes;             // the number of batches of guesses that changed the game, ever
+    private CompletableFuture<Path> pendingSave; // the latest save, which may still be in progress
+    private Autosaver   autosaver;           // saves the game a while after each change, or null if autosave is off
+    private SavedGamesCatalog catalog;       // describes the saved games, for the load browser; opened when needed
+    private final InputQueue     input      = new InputQueue(); // keys typed but not yet fed into the game
+    // drains the queued keys; runs only while there are any
+    private final AnimationTimer inputTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            drainInput();
+        }
+    };
 
     public HangmanController(AppTemplate appTemplate, Button gameButton) {
         this(appTemplate);
@@ -69,6 +94,39 @@ public class HangmanController implements FileController {
         this.gamestate = GameState.UNINITIALIZED;
     }
 
+    /**
+     * @return The directory in which the application keeps its files, such as saved games, logs and traces. Like the
+     * framework's work folder, it is found through the class loader, as the parent of the work folder, so it does not
+     * depend on the directory the application was launched from. If the work folder is not on the class path, it is
+     * a folder named after the application in the user's home directory.
+     */
+    public static Path appDirectory() {
+        URL workDirURL = AppTemplate.class.getClassLoader().getResource(APP_WORKDIR_PATH.getParameter());
+        if (workDirURL != null && "file".equals(workDirURL.getProtocol())) {
+            try {
+                return Paths.get(workDirURL.toURI()).getParent();
+            } catch (URISyntaxException e) {
+                e.printStackTrace();
+            }
+        }
+        PropertyManager propertyManager = PropertyManager.getManager();
+        return createDirectory(Paths.get(System.getProperty("user.home"), propertyManager.getPropertyValue(APP_TITLE)));
+    }
+
+    /** @return The directory in which games are saved by default. */
+    public static Path savedGamesDirectory() {
+        return createDirectory(appDirectory().resolve(APP_WORKDIR_PATH.getParameter()));
+    }
+
+    private static Path createDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            e.printStackTrace(); // whatever is written there will fail, and report itself
+        }
+        return directory;
+    }
+
     public void enableGameButton() {
         if (gameButton == null) {
             Workspace workspace = (Workspace) appTemplate.getWorkspaceComponent();
@@ -119,32 +177,31 @@ public class HangmanController implements FileController {
      * is to write (and use) the GameData#init() method.
      */
     public void start() {
+        long started = PerformanceMonitor.getMonitor().begin();
         gamedata = (GameData) appTemplate.getDataComponent();
-        success = false;
-        discovered = 0;
         badGuesses = "";
         Workspace gameWorkspace = (Workspace) appTemplate.getWorkspaceComponent();
+        PropertyManager propertyManager = PropertyManager.getManager();
+        gamedata.setDifficulty(Difficulty.parse(propertyManager.getPropertyValue(GAME_DIFFICULTY)));
         gamedata.init();
         setGameState(GameState.INITIALIZED_UNMODIFIED);
 
         gameWorkspace.addLittleBoxes(appTemplate);
-        littleBoxes            = gameWorkspace.getLittleBoxes();
-        for(int i = 0; i < gamedata.getTargetWord().length(); i++ ) {
-            ((StackPane)littleBoxes.getChildren().get(i)).getChildren().get(1).setVisible(false);
-        }
+        for(int i = 0; i < gamedata.getTargetWord().length(); i++ )
+            gameWorkspace.setLetterVisible(i, false);
         HBox remainingGuessBox = gameWorkspace.getRemainingGuessBox();
-        HBox guessedLetters    = (HBox) gameWorkspace.getGameTextsPane().getChildren().get(1);
         HBox wronglyGuessedLetters    = (HBox) gameWorkspace.getGameTextsPane().getChildren().get(2);
         remains = new Label(Integer.toString(GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED));
         badGuessesLabel = new Label("");
         remainingGuessBox.getChildren().addAll(new Label("Remaining Guesses: "), remains);
         wronglyGuessedLetters.getChildren().addAll(new Label("Incorrect guesses: "), badGuessesLabel );
-        initWordGraphics(guessedLetters);
         play();
+        PerformanceMonitor.getMonitor().end("start", started);
     }
 
     private void end() {
-        appTemplate.getGUI().getPrimaryScene().setOnKeyTyped(null);
+        playing = false;
+        exportKeystrokeTrace();
         gameButton.setDisable(false);
         hintButton.setDisable(true);
         setGameState(GameState.ENDED);
@@ -152,36 +209,21 @@ public class HangmanController implements FileController {
         Platform.runLater(() -> {
             PropertyManager           manager    = PropertyManager.getManager();
             AppMessageDialogSingleton dialog     = AppMessageDialogSingleton.getSingleton();
+            boolean                   success    = gamedata.getEngine().isWon();
             String                    endMessage = manager.getPropertyValue(success ? GAME_WON_MESSAGE : GAME_LOST_MESSAGE);
+            Workspace                 workspace  = (Workspace) appTemplate.getWorkspaceComponent();
             if (!success)
-                for (int i = 0; i < progress.length; i++) {
-                    if ( !gamedata.getGoodGuesses().contains(gamedata.getTargetWord().charAt(i)) ) {
-                        ((StackPane)littleBoxes.getChildren().get(i)).getChildren().get(1).setStyle("-fx-stroke: red;");
-                        ((StackPane)littleBoxes.getChildren().get(i)).getChildren().get(1).setVisible(true);
-                    }
-                }
+                workspace.revealMissedLetters();
             if (dialog.isShowing())
                 dialog.toFront();
             else {
                 dialog.show(manager.getPropertyValue(GAME_OVER_TITLE), endMessage);
-                Workspace workspace = (Workspace) appTemplate.getWorkspaceComponent();
-                littleBoxes = new HBox();
                 workspace.reinitialize();
             }
 
         });
     }
 
-    private void initWordGraphics(HBox guessedLetters) {
-        char[] targetword = gamedata.getTargetWord().toCharArray();
-        progress = new Text[targetword.length];
-        for (int i = 0; i < progress.length; i++) {
-            progress[i] = new Text(Character.toString(targetword[i]));
-            progress[i].setVisible(false);
-        }
-        guessedLetters.getChildren().addAll(progress);
-    }
-
     public void play() {
         disableGameButton();
         if(gamedata.getTargetWord().length() >= 7){
@@ -192,79 +234,115 @@ public class HangmanController implements FileController {
             disableHintButton();
             hintButton.setText("No hint available");
         }
-        AnimationTimer timer = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                appTemplate.getGUI().updateWorkspaceToolbar(gamestate.equals(GameState.INITIALIZED_MODIFIED));
-                boolean validInput = false;
-
-                appTemplate.getGUI().getPrimaryScene().setOnKeyTyped((KeyEvent event) -> {
-                    char guess = event.getCharacter().charAt(0);
-                    //check if input is valid
-                    if( (guess > 122) || (guess < 65) || ( (guess > 90) && (guess < 96) ) ){
-                        //don't do anything, but prevents else if from running
-                    }
-                    else if (!alreadyGuessed(guess)) {
-                        boolean goodguess = false;
-
-                        for (int i = 0; i < progress.length; i++) {
-                            if ( (gamedata.getTargetWord().charAt(i)) == guess) {
-                                //((Character)gamedata.getTargetWord().charAt(i)).toString().equalsIgnoreCase( ((Character)guess).toString() )
-                                //progress[i].setVisible(true);
-                                ((StackPane)littleBoxes.getChildren().get(i)).getChildren().get(1).setVisible(true);
-                                gamedata.addGoodGuess(guess);
-                                goodguess = true;
-                                discovered++;
-                            }
-                        }
-                        if (!goodguess) {
-                            gamedata.addBadGuess(guess);
-                            badGuesses += guess;
-                            badGuessesLabel.setText(badGuesses);
-                            Workspace workspace = (Workspace) appTemplate.getWorkspaceComponent();
-                            workspace.addBodyPart();
-
-                        }
-                        success = (discovered == progress.length);
-                        remains.setText(Integer.toString(gamedata.getRemainingGuesses()));
-                    }
-                    setGameState(GameState.INITIALIZED_MODIFIED);
-                });
-                if (gamedata.getRemainingGuesses() <= 0 || success)
-                    stop();
-            }
+        appTemplate.getGUI().updateWorkspaceToolbar(gamestate.equals(GameState.INITIALIZED_MODIFIED));
+        if (!keyHandlerInstalled) {
+            appTemplate.getGUI().getPrimaryScene().setOnKeyTyped(this::handleKeyTyped);
+            keyHandlerInstalled = true;
+        }
+        input.clear();
+        initAutosaver();
+        playing = true;
+        if (gamedata.getEngine().isOver())
+            end();
+    }
 
-            @Override
-            public void stop() {
-                super.stop();
-                end();
+    /** Starts autosaving the game, once, if the AUTOSAVE_INTERVAL property asks for it. */
+    private void initAutosaver() {
+        PropertyManager propertyManager = PropertyManager.getManager();
+        if (autosaver != null || !propertyManager.hasProperty(AUTOSAVE_INTERVAL))
+            return;
+        long interval;
+        try {
+            interval = Long.parseLong(propertyManager.getPropertyValue(AUTOSAVE_INTERVAL).trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Autosave is off: AUTOSAVE_INTERVAL is not a number of milliseconds.");
+            return;
+        }
+        if (interval <= 0)
+            return;
+        Path target = savedGamesDirectory().resolve(propertyManager.getPropertyValue(AUTOSAVE_FILE));
+        autosaver = new Autosaver(gamedata, (GameDataFile) appTemplate.getFileComponent(), target, interval,
+                                  Platform::runLater);
+    }
+
+    /**
+     * Queues a typed key for the next pulse. This handler is installed once, and does nothing but record the key, so
+     * that it stays cheap however fast keys arrive.
+     */
+    private void handleKeyTyped(KeyEvent event) {
+        if (!playing || event.getCharacter().isEmpty())
+            return;
+        if (input.offer(event.getCharacter().charAt(0), KeystrokeTracer.getTracer().keyReceived(), System.nanoTime()))
+            inputTimer.start();
+    }
+
+    /**
+     * Feeds the queued keys into the game, in the order in which they were typed. It runs once per pulse while keys
+     * are queued; invalid and repeated guesses are dropped here, and the toolbar and the end state are only updated
+     * once for the whole batch, and only if some guess actually changed the game.
+     */
+    private void drainInput() {
+        PerformanceMonitor monitor   = PerformanceMonitor.getMonitor();
+        KeystrokeTracer    tracer    = KeystrokeTracer.getTracer();
+        Workspace          workspace = (Workspace) appTemplate.getWorkspaceComponent();
+        long               started   = monitor.begin();
+        boolean            changed = false;
+        while (!input.isEmpty() && playing && !gamedata.getEngine().isOver()) {
+            long             typed   = input.peekTime();
+            long             queued  = input.peekQueuedTime();
+            long             drained = System.nanoTime();
+            char             guess   = input.poll();
+            GameEngine.Guess outcome = gamedata.getEngine().guess(guess);
+            long             decided = System.nanoTime();
+            switch (outcome) {
+                case GOOD:
+                    for (int i : gamedata.getPositions(guess))
+                        workspace.setLetterVisible(i, true);
+                    break;
+                case BAD:
+                    badGuesses += guess;
+                    badGuessesLabel.setText(badGuesses);
+                    long drawn = monitor.begin();
+                    workspace.addBodyPart();
+                    monitor.end("addBodyPart", drawn);
+                    break;
+                default:
+                    continue; // invalid or repeated guesses change nothing
             }
-        };
-        timer.start();
+            tracer.guessApplied(typed, queued, drained, decided, System.nanoTime());
+            changed = true;
+        }
+        input.clear();
+        inputTimer.stop();
+        if (changed) {
+            changes++;
+            if (autosaver != null)
+                autosaver.markDirty();
+            remains.setText(Integer.toString(gamedata.getRemainingGuesses()));
+            setGameState(GameState.INITIALIZED_MODIFIED);
+            appTemplate.getGUI().updateWorkspaceToolbar(true);
+            if (gamedata.getEngine().isOver())
+                end();
+        }
+        monitor.end("drainInput", started);
     }
 
     private void restoreGUI() {
+        long started = PerformanceMonitor.getMonitor().begin();
         disableGameButton();
         Workspace gameWorkspace = (Workspace) appTemplate.getWorkspaceComponent();
         gameWorkspace.reinitialize();
 
         HBox remainingGuessBox = gameWorkspace.getRemainingGuessBox();
         gameWorkspace.addLittleBoxes(appTemplate);
-        littleBoxes            = gameWorkspace.getLittleBoxes();
-        for(int i = 0; i < gamedata.getTargetWord().length(); i++ ) {
-            if(gamedata.getGoodGuesses().contains(gamedata.getTargetWord().charAt(i)))
-                ((StackPane) littleBoxes.getChildren().get(i)).getChildren().get(1).setVisible(true);
-            else
-                ((StackPane) littleBoxes.getChildren().get(i)).getChildren().get(1).setVisible(false);
-        }
+        for(int i = 0; i < gamedata.getTargetWord().length(); i++ )
+            gameWorkspace.setLetterVisible(i, gamedata.isGoodGuess(gamedata.getTargetWord().charAt(i)));
 
-        HBox guessedLetters    = (HBox) gameWorkspace.getGameTextsPane().getChildren().get(1);
         HBox wronglyGuessedLetters    = (HBox) gameWorkspace.getGameTextsPane().getChildren().get(2);
         remains = new Label(Integer.toString(GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED));
         badGuessesLabel = new Label("");
         remainingGuessBox.getChildren().addAll(new Label("Remaining Guesses: "), remains);
         wronglyGuessedLetters.getChildren().addAll(new Label("Incorrect guesses: "), badGuessesLabel );
-        initWordGraphics(guessedLetters);
 
         Workspace workspace = (Workspace) appTemplate.getWorkspaceComponent();
         workspace.initBodyParts();
@@ -273,29 +351,12 @@ public class HangmanController implements FileController {
         int resetManCounter = 10 - gamedata.getRemainingGuesses();
         Character[] badGuessArray = gamedata.getBadGuesses().toArray(new Character[gamedata.getBadGuesses().size()]);
         remains.setText(Integer.toString(gamedata.getRemainingGuesses()));
-        for (int i = 0; i < resetManCounter; i++){
+        for (int i = 0; i < resetManCounter; i++)
             badGuesses += badGuessArray[i];
-            workspace.addBodyPart();
-        }
+        workspace.showBodyParts(resetManCounter);
         badGuessesLabel.setText(badGuesses);
         play();
-    }
-
-    private void restoreWordGraphics(HBox guessedLetters) {
-        discovered = 0;
-        char[] targetword = gamedata.getTargetWord().toCharArray();
-        progress = new Text[targetword.length];
-        for (int i = 0; i < progress.length; i++) {
-            progress[i] = new Text(Character.toString(targetword[i]));
-            progress[i].setVisible(gamedata.getGoodGuesses().contains(progress[i].getText().charAt(0)));
-            if (progress[i].isVisible())
-                discovered++;
-        }
-        guessedLetters.getChildren().addAll(progress);
-    }
-
-    private boolean alreadyGuessed(char c) {
-        return gamedata.getGoodGuesses().contains(c) || gamedata.getBadGuesses().contains(c);
+        PerformanceMonitor.getMonitor().end("restoreGUI", started);
     }
 
     @Override
@@ -331,18 +392,12 @@ public class HangmanController implements FileController {
         PropertyManager propertyManager = PropertyManager.getManager();
         if (workFile == null) {
             FileChooser filechooser = new FileChooser();
-            Path        appDirPath  = Paths.get(propertyManager.getPropertyValue(APP_TITLE)).toAbsolutePath();
-            Path        targetPath  = appDirPath.resolve(APP_WORKDIR_PATH.getParameter());
-            filechooser.setInitialDirectory(targetPath.toFile());
+            filechooser.setInitialDirectory(savedGamesDirectory().toFile());
             filechooser.setTitle(propertyManager.getPropertyValue(SAVE_WORK_TITLE));
-            String description = propertyManager.getPropertyValue(WORK_FILE_EXT_DESC);
-            String extension   = propertyManager.getPropertyValue(WORK_FILE_EXT);
-            ExtensionFilter extFilter = new ExtensionFilter(String.format("%s (*.%s)", description, extension),
-                                                            String.format("*.%s", extension));
-            filechooser.getExtensionFilters().add(extFilter);
+            addExtensionFilters(filechooser);
             File selectedFile = filechooser.showSaveDialog(appTemplate.getGUI().getWindow());
             if (selectedFile != null)
-                save(selectedFile.toPath());
+                save(appTemplate.getFileComponent().getCodecs().withDefaultExtension(selectedFile.toPath()));
         } else
             save(workFile);
     }
@@ -353,32 +408,67 @@ public class HangmanController implements FileController {
         if (gamestate.equals(GameState.INITIALIZED_MODIFIED))
             load = promptToSave();
         if (load) {
-            PropertyManager propertyManager = PropertyManager.getManager();
-            FileChooser     filechooser     = new FileChooser();
-            Path            appDirPath      = Paths.get(propertyManager.getPropertyValue(APP_TITLE)).toAbsolutePath();
-            Path            targetPath      = appDirPath.resolve(APP_WORKDIR_PATH.getParameter());
-            filechooser.setInitialDirectory(targetPath.toFile());
-            filechooser.setTitle(propertyManager.getPropertyValue(LOAD_WORK_TITLE));
-            String description = propertyManager.getPropertyValue(WORK_FILE_EXT_DESC);
-            String extension   = propertyManager.getPropertyValue(WORK_FILE_EXT);
-            ExtensionFilter extFilter = new ExtensionFilter(String.format("%s (*.%s)", description, extension),
-                                                            String.format("*.%s", extension));
-            filechooser.getExtensionFilters().add(extFilter);
-            File selectedFile = filechooser.showOpenDialog(appTemplate.getGUI().getWindow());
-            if (selectedFile != null && selectedFile.exists())
-                load(selectedFile.toPath());
+            Path selected = browseSavedGames();
+            if (selected != null && Files.exists(selected))
+                load(selected);
             restoreGUI(); // restores the GUI to reflect the state in which the loaded game was last saved
         }
     }
 
+    /**
+     * Lets the user choose a saved game, first from the catalog of the saved games directory and, if they ask for it,
+     * from anywhere else through a file chooser.
+     *
+     * @return The chosen saved game, or null if none was chosen.
+     */
+    private Path browseSavedGames() {
+        PropertyManager   propertyManager = PropertyManager.getManager();
+        SavedGamesBrowser browser         = SavedGamesBrowser.getSingleton();
+        if (browser.getOwner() == null)
+            browser.init(appTemplate.getGUI().getWindow());
+        browser.show(propertyManager.getPropertyValue(LOAD_WORK_TITLE), getCatalog());
+        if (!browser.isOtherFileRequested())
+            return browser.getSelection();
+
+        FileChooser filechooser = new FileChooser();
+        filechooser.setInitialDirectory(savedGamesDirectory().toFile());
+        filechooser.setTitle(propertyManager.getPropertyValue(LOAD_WORK_TITLE));
+        addExtensionFilters(filechooser);
+        File selectedFile = filechooser.showOpenDialog(appTemplate.getGUI().getWindow());
+        return selectedFile == null ? null : selectedFile.toPath();
+    }
+
+    /**
+     * @return The catalog of the saved games directory, which is opened the first time it is needed, so that scanning
+     * the directory does not hold up starting the application. The autosave is left out of it.
+     */
+    private SavedGamesCatalog getCatalog() {
+        if (catalog == null) {
+            PropertyManager propertyManager = PropertyManager.getManager();
+            GameDataFile    file            = (GameDataFile) appTemplate.getFileComponent();
+            catalog = propertyManager.hasProperty(AUTOSAVE_FILE)
+                      ? SavedGamesCatalog.open(file, savedGamesDirectory(),
+                                               propertyManager.getPropertyValue(AUTOSAVE_FILE))
+                      : SavedGamesCatalog.open(file, savedGamesDirectory());
+        }
+        return catalog;
+    }
+
     @Override
     public void handleExitRequest() {
         try {
             boolean exit = true;
             if (gamestate.equals(GameState.INITIALIZED_MODIFIED))
                 exit = promptToSave();
-            if (exit)
+            if (exit) {
+                if (autosaver != null && !autosaver.flush() && !confirmExitAnyway())
+                    return; // the game stays open, so that it may be saved again
+                if (!awaitPendingSave() && !confirmExitAnyway())
+                    return; // the game stays open, so that it may be saved again
+                exportKeystrokeTrace();
+                PerformanceMonitor.getMonitor().uninstall();
                 System.exit(0);
+            }
         } catch (IOException ioe) {
             AppMessageDialogSingleton dialog = AppMessageDialogSingleton.getSingleton();
             PropertyManager           props  = PropertyManager.getManager();
@@ -386,6 +476,24 @@ public class HangmanController implements FileController {
         }
     }
 
+    /** Offers every format of saved games in a file chooser, JSON first. */
+    private void addExtensionFilters(FileChooser filechooser) {
+        filechooser.getExtensionFilters().addAll(appTemplate.getFileComponent().getCodecs().extensionFilters());
+    }
+
+    /** Writes the keystroke latencies of this session to the file named by the KEYSTROKE_TRACE_FILE property. */
+    private void exportKeystrokeTrace() {
+        KeystrokeTracer tracer          = KeystrokeTracer.getTracer();
+        PropertyManager propertyManager = PropertyManager.getManager();
+        if (!tracer.isInstalled() || !propertyManager.hasProperty(KEYSTROKE_TRACE_FILE))
+            return;
+        try {
+            tracer.export(appDirectory().resolve(propertyManager.getPropertyValue(KEYSTROKE_TRACE_FILE)));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     private void ensureActivatedWorkspace() {
         appTemplate.getWorkspaceComponent().activateWorkspace(appTemplate.getGUI().getAppPane());
     }
@@ -404,19 +512,66 @@ public class HangmanController implements FileController {
     }
 
     /**
-     * A helper method to save work. It saves the work, marks the current work file as saved, notifies the user, and
-     * updates the appropriate controls in the user interface
+     * A helper method to save work. The work is written in the background, so the game can go on meanwhile; once it
+     * has been written, the game is marked as saved (unless it has changed since) and the user is notified of the
+     * outcome.
      *
      * @param target The file to which the work will be saved.
-     * @throws IOException
      */
-    private void save(Path target) throws IOException {
-        appTemplate.getFileComponent().saveData(appTemplate.getDataComponent(), target);
+    private void save(Path target) {
+        GameDataFile file    = (GameDataFile) appTemplate.getFileComponent();
+        int          changes = this.changes;
         workFile = target;
-        setGameState(GameState.INITIALIZED_UNMODIFIED);
-        AppMessageDialogSingleton dialog = AppMessageDialogSingleton.getSingleton();
-        PropertyManager           props  = PropertyManager.getManager();
-        dialog.show(props.getPropertyValue(SAVE_COMPLETED_TITLE), props.getPropertyValue(SAVE_COMPLETED_MESSAGE));
+        CompletableFuture<Path> save = file.saveDataAsync(appTemplate.getDataComponent(), target);
+        pendingSave = save;
+        save.whenComplete((saved, error) -> Platform.runLater(() -> {
+            AppMessageDialogSingleton dialog = AppMessageDialogSingleton.getSingleton();
+            PropertyManager           props  = PropertyManager.getManager();
+            if (error != null) {
+                error.printStackTrace();
+                dialog.show(props.getPropertyValue(SAVE_ERROR_TITLE), props.getPropertyValue(SAVE_ERROR_MESSAGE));
+                if (pendingSave == save)
+                    pendingSave = null; // reported, so that exiting no longer waits on it
+                return;
+            }
+            if (changes == this.changes) {
+                setGameState(GameState.INITIALIZED_UNMODIFIED);
+                appTemplate.getGUI().updateWorkspaceToolbar(false);
+            }
+            dialog.show(props.getPropertyValue(SAVE_COMPLETED_TITLE), props.getPropertyValue(SAVE_COMPLETED_MESSAGE));
+        }));
+    }
+
+    /**
+     * Waits for the save in progress, if any, to be written, e.g. before the application exits.
+     *
+     * @return Whether there was no save in progress, or it was written successfully.
+     */
+    private boolean awaitPendingSave() {
+        if (pendingSave == null)
+            return true;
+        try {
+            pendingSave.get();
+            return true;
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Asks the user whether to exit although the game could not be saved.
+     *
+     * @return Whether the user chose to exit all the same.
+     */
+    private boolean confirmExitAnyway() {
+        PropertyManager            propertyManager   = PropertyManager.getManager();
+        YesNoCancelDialogSingleton yesNoCancelDialog = YesNoCancelDialogSingleton.getSingleton();
+
+        yesNoCancelDialog.show(propertyManager.getPropertyValue(EXIT_ANYWAY_TITLE),
+                               propertyManager.getPropertyValue(EXIT_ANYWAY_MESSAGE));
+
+        return yesNoCancelDialog.getSelection().equals(YesNoCancelDialogSingleton.YES);
     }
 
     /**
@@ -445,22 +600,7 @@ public class HangmanController implements FileController {
         gamedata = (GameData) appTemplate.getDataComponent();
     }
     public void showHint(){
-        char hintLetter = '\0';
-        String targetWord = gamedata.getTargetWord();
-        Set<Character> goodGuesses = gamedata.getGoodGuesses();
-        Character[] goodGuessArray = goodGuesses.toArray(new Character[goodGuesses.size()]);
-        for(int i = 0; i < targetWord.length(); i++){
-            boolean guessed = false;
-            for(int j = 0; j < goodGuessArray.length; j++ ){
-                if(targetWord.charAt(i) == goodGuessArray[j]){
-                    guessed = true;
-                }
-            }
-            if(guessed == false){
-                hintLetter = targetWord.charAt(i);
-                i = targetWord.length();
-            }
-        }
+        char hintLetter = gamedata.getEngine().hint();
 
         OkayButtonDialog dialog = OkayButtonDialog.getSingleton();
         dialog.init(appTemplate.getGUI().getWindow());
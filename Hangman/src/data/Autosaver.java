@@ -0,0 +1,104 @@
+package data;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves a game automatically, a while after it changes. Each change marks the game dirty; the first change after a
+ * save schedules the next one an interval later, and any further changes before then are folded into that same save.
+ * So however fast the game changes, it is written at most once per interval, and at most one interval after its last
+ * change.
+ * <p>
+ * The game is only ever read on the thread that plays it, given as an {@link Executor} (e.g. {@code Platform::runLater}
+ * for a JavaFX game), and only to take a snapshot of it; the snapshot is then written in the background through
+ * {@link GameDataFile#writeAsync(GameEngine.Snapshot, Path)}. All the methods of this class must be called on that
+ * same thread.
+ *
+ * @author Charles Giovanniello
+ */
+public class Autosaver {
+
+    private final GameData                 gamedata;
+    private final GameDataFile             file;
+    private final Path                     target;
+    private final long                     interval;   // in milliseconds
+    private final Executor                 gameThread; // the thread that plays the game
+    private final ScheduledExecutorService scheduler;
+    private boolean                        scheduled;  // whether a save has been scheduled but not yet taken
+    private CompletableFuture<Path>        pending;    // the latest save, which may still be in progress
+
+    /**
+     * @param gamedata   The game to save.
+     * @param file       The file component that writes the saves.
+     * @param target     The file to which it is saved.
+     * @param interval   The least time between two saves, in milliseconds.
+     * @param gameThread Runs tasks on the thread that plays the game.
+     */
+    public Autosaver(GameData gamedata, GameDataFile file, Path target, long interval, Executor gameThread) {
+        this.gamedata = gamedata;
+        this.file = file;
+        this.target = target;
+        this.interval = interval;
+        this.gameThread = gameThread;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    /** Records that the game has changed, scheduling a save unless one is already coming. */
+    public void markDirty() {
+        gamedata.setDirty(true);
+        if (scheduled)
+            return;
+        scheduled = true;
+        scheduler.schedule(() -> gameThread.execute(this::save), interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void save() {
+        scheduled = false;
+        if (!gamedata.isDirty() || gamedata.getTargetWord() == null)
+            return;
+        gamedata.setDirty(false);
+        pending = file.writeAsync(gamedata.getEngine().snapshot(), target);
+        pending.whenComplete((saved, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+                gameThread.execute(this::markDirty); // try again after another interval
+            }
+        });
+    }
+
+    /**
+     * Saves the game now if it has changed since it was last saved, and waits for that save, as well as any save
+     * still in progress, to be written. This is meant for when the game is about to be closed.
+     *
+     * @return Whether every change has been saved.
+     */
+    public boolean flush() {
+        if (gamedata.isDirty() && gamedata.getTargetWord() != null) {
+            gamedata.setDirty(false);
+            pending = file.writeAsync(gamedata.getEngine().snapshot(), target);
+        }
+        if (pending == null)
+            return true;
+        try {
+            pending.get();
+            return true;
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+            gamedata.setDirty(true);
+            return false;
+        }
+    }
+}
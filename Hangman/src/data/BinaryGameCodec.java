@@ -0,0 +1,137 @@
+package data;
+
+import components.AppFileCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Saves a game as a compact binary record.
+ * <p>
+ * Layout (big-endian): the magic number, the format version, the target word (as a 2-byte length followed by its UTF-8
+ * bytes), and then the good and the bad guesses. Each set of guesses is two 64-bit masks over the ASCII characters,
+ * followed by the number of any other characters and those characters.
+ *
+ * @author Charles Giovanniello
+ */
+public class BinaryGameCodec implements AppFileCodec<GameEngine.Snapshot> {
+
+    public static final String NAME         = "binary";
+    public static final String CONTENT_TYPE = "application/x-hangman-game";
+    public static final String EXTENSION    = "hmg";
+    public static final int    MAGIC        = 0x484D4753; // "HMGS"
+    public static final int    VERSION      = 1;
+
+    private static final int MAX_LENGTH = 0xFFFF; // the most that a 2-byte length can hold
+
+    private final String description;
+
+    public BinaryGameCodec(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public List<String> getExtensions() {
+        return Collections.singletonList(EXTENSION);
+    }
+
+    @Override
+    public byte[] getMagic() {
+        return ByteBuffer.allocate(4).putInt(MAGIC).array();
+    }
+
+    @Override
+    public void encode(GameEngine.Snapshot snapshot, OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        byte[] targetWord = snapshot.getTargetWord().getBytes(UTF_8);
+        writeLength(targetWord.length, "target word", out);
+        out.write(targetWord);
+        writeGuesses(snapshot.goodGuessSet(), out);
+        writeGuesses(snapshot.badGuessSet(), out);
+        out.flush();
+    }
+
+    private static void writeGuesses(GuessSet guesses, DataOutputStream out) throws IOException {
+        out.writeLong(guesses.lowBits());
+        out.writeLong(guesses.highBits());
+        int others = 0;
+        for (int c = guesses.next(128); c >= 0; c = guesses.next(c + 1))
+            others++;
+        writeLength(others, "set of guesses", out);
+        for (int c = guesses.next(128); c >= 0; c = guesses.next(c + 1))
+            out.writeChar(c);
+    }
+
+    /** Writes a length in the two bytes it is given, refusing one that would not fit rather than cut it short. */
+    private static void writeLength(int length, String of, DataOutputStream out) throws IOException {
+        if (length > MAX_LENGTH)
+            throw new IOException(String.format("The %s is too long to save (%d > %d).", of, length, MAX_LENGTH));
+        out.writeShort(length);
+    }
+
+    @Override
+    public GameEngine.Snapshot decode(InputStream in) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(readAll(in));
+        try {
+            if (buffer.getInt() != MAGIC)
+                throw new IOException("Not a saved game.");
+            int version = buffer.get();
+            if (version != VERSION)
+                throw new IOException(String.format("Unsupported saved game version %d.", version));
+            byte[] targetWord = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(targetWord);
+            GuessSet goodguesses = readGuesses(buffer);
+            GuessSet badguesses  = readGuesses(buffer);
+
+            GameEngine engine = new GameEngine(GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED);
+            engine.setTargetWord(new String(targetWord, UTF_8));
+            engine.setGoodGuesses(goodguesses);
+            engine.setBadGuesses(badguesses);
+            return engine.snapshot();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("The saved game is truncated.", e);
+        }
+    }
+
+    private static GuessSet readGuesses(ByteBuffer buffer) {
+        GuessSet guesses = new GuessSet();
+        guesses.addBits(buffer.getLong(), buffer.getLong());
+        for (int others = buffer.getShort() & 0xFFFF; others > 0; others--)
+            guesses.add(buffer.getChar());
+        return guesses;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream contents = new ByteArrayOutputStream(128);
+        byte[]                buffer   = new byte[512];
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer))
+            contents.write(buffer, 0, read);
+        return contents.toByteArray();
+    }
+}
@@ -0,0 +1,232 @@
+package data;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The collection of words from which target words are chosen. The word list is loaded into a {@link WordArena}
+ * exactly once, preferably from its compiled form (see {@link DictionaryCompiler}), so that choosing a random word is
+ * a constant-time lookup that never re-reads the file. A {@link WordIndex} over the same words lets a word of a
+ * particular length or {@link Difficulty} be chosen just as quickly.
+ *
+ * @author Charles Giovanniello
+ */
+public class Dictionary {
+
+    public static final String WORDS_RESOURCE   = "words/words.txt";
+    public static final String METRICS_PROPERTY = "hangman.dictionary.metrics";
+
+    private static final CompletableFuture<Dictionary> dictionary = new CompletableFuture<>();
+
+    private static boolean              loadingClaimed = false; // whether some thread has started loading it
+    private static long                 loadNanos;              // how long loading it took
+    private static boolean              loadedByWarmUp;         // whether it was loaded by a warm-up, or on demand
+    private static volatile LoadMetrics metrics        = null;  // how the first request for the dictionary was served
+
+    private final WordArena words;
+    private final WordIndex index;
+    private final Random    random;
+
+    private Dictionary(WordIndex index) {
+        this.words = index.getWords();
+        this.index = index;
+        this.random = new Random();
+    }
+
+    /**
+     * Loads the dictionary in the calling thread, unless some other thread has already started doing so. This is
+     * meant to be run in the background as soon as the application starts, so that the first game does not have to
+     * wait for the dictionary.
+     */
+    public static void warmUp() {
+        if (claimLoading())
+            load(true);
+    }
+
+    /**
+     * Provides the dictionary. If it is not ready yet, the dictionary is either loaded in the calling thread or, if a
+     * warm-up is already loading it, waited for. The compiled form of the word list is used if it was compiled from
+     * the current word list; otherwise the word list is compiled again, and the result is saved for the next run.
+     *
+     * @return The one dictionary of words available to the game.
+     * @throws IOException if the word list cannot be found or read.
+     */
+    public static Dictionary getDictionary() throws IOException {
+        if (metrics != null)
+            return get();
+        long requested = System.nanoTime();
+        if (claimLoading())
+            load(false);
+        try {
+            return get();
+        } finally {
+            recordFirstRequest(System.nanoTime() - requested);
+        }
+    }
+
+    /**
+     * @return How the first request for the dictionary was served, or {@code null} if there has been none yet, or the
+     * dictionary could not be loaded.
+     */
+    public static LoadMetrics getLoadMetrics() {
+        return metrics;
+    }
+
+    private static synchronized boolean claimLoading() {
+        if (loadingClaimed)
+            return false;
+        loadingClaimed = true;
+        return true;
+    }
+
+    private static synchronized void recordFirstRequest(long waitNanos) {
+        if (metrics == null && dictionary.isDone() && !dictionary.isCompletedExceptionally()) {
+            metrics = new LoadMetrics(loadNanos, waitNanos, loadedByWarmUp);
+            if (Boolean.getBoolean(METRICS_PROPERTY))
+                System.out.println(metrics);
+        }
+    }
+
+    private static Dictionary get() throws IOException {
+        try {
+            return dictionary.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static void load(boolean warmUp) {
+        long start = System.nanoTime();
+        try {
+            URL wordsResource = Dictionary.class.getClassLoader().getResource(WORDS_RESOURCE);
+            if (wordsResource == null)
+                throw new IOException(String.format("Word list \"%s\" not found under resources.", WORDS_RESOURCE));
+            Dictionary loaded = new Dictionary(load(wordsResource));
+            synchronized (Dictionary.class) {
+                loadNanos = System.nanoTime() - start;
+                loadedByWarmUp = warmUp;
+            }
+            dictionary.complete(loaded);
+        } catch (IOException | RuntimeException e) {
+            dictionary.completeExceptionally(e);
+        }
+    }
+
+    private static WordIndex load(URL wordsResource) throws IOException {
+        Path source;
+        try {
+            source = Paths.get(wordsResource.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+        byte[]    contents = Files.readAllBytes(source);
+        long      checksum = DictionaryCompiler.checksum(contents);
+        Path      compiled = DictionaryCompiler.compiledPath(source);
+        WordIndex index    = DictionaryCompiler.read(compiled, checksum);
+        if (index == null) {
+            index = new WordIndex(DictionaryCompiler.compile(contents));
+            try {
+                DictionaryCompiler.write(compiled, checksum, index);
+            } catch (IOException e) {
+                // the dictionary still works from memory; it will just be compiled again next time
+                System.err.println("Unable to save the compiled dictionary: " + e);
+            }
+        }
+        return index;
+    }
+
+    public WordArena getWords() {
+        return words;
+    }
+
+    public WordIndex getIndex() {
+        return index;
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    public String getWord(int index) {
+        return words.get(index);
+    }
+
+    public String randomWord() {
+        return words.get(random.nextInt(words.size()));
+    }
+
+    /**
+     * Picks a random word whose length lies in the given (inclusive) range.
+     *
+     * @throws NoSuchElementException if there is no such word.
+     */
+    public String randomWord(int minLength, int maxLength) {
+        return randomWord(minLength, maxLength, 0, WordIndex.MAX_DISTINCT_LETTERS);
+    }
+
+    public String randomWord(Difficulty difficulty) {
+        return randomWord(difficulty.getMinLength(), difficulty.getMaxLength(),
+                          difficulty.getMinDistinct(), difficulty.getMaxDistinct());
+    }
+
+    private String randomWord(int minLength, int maxLength, int minDistinct, int maxDistinct) {
+        int chosen = index.randomIndex(random, minLength, maxLength, minDistinct, maxDistinct);
+        if (chosen < 0)
+            throw new NoSuchElementException(String.format("No word has %d to %d letters, %d to %d of them distinct.",
+                                                           minLength, maxLength, minDistinct, maxDistinct));
+        return words.get(chosen);
+    }
+
+    /**
+     * Records how long loading the dictionary took, and how much of that time the first game to ask for it still had
+     * to wait. Whatever the first game did not wait for was hidden by the warm-up.
+     */
+    public static class LoadMetrics {
+
+        private final long    loadNanos;
+        private final long    waitNanos;
+        private final boolean warmedUp;
+
+        LoadMetrics(long loadNanos, long waitNanos, boolean warmedUp) {
+            this.loadNanos = loadNanos;
+            this.waitNanos = waitNanos;
+            this.warmedUp = warmedUp;
+        }
+
+        public long getLoadNanos() {
+            return loadNanos;
+        }
+
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+
+        public boolean isWarmedUp() {
+            return warmedUp;
+        }
+
+        public long getHiddenNanos() {
+            return warmedUp ? Math.max(0, loadNanos - waitNanos) : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Dictionary loaded in %.1f ms (%s); first game waited %.1f ms, %.1f ms hidden",
+                                 loadNanos / 1e6, warmedUp ? "warm-up" : "on demand", waitNanos / 1e6,
+                                 getHiddenNanos() / 1e6);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * Compiles the plain-text word list into a binary dictionary, and reads it back. The compiled file holds the words
+ * that survive filtering and de-duplication as a {@link WordArena}, together with its {@link WordIndex}, so that
+ * loading it is little more than a few bulk array reads.
+ * <p>
+ * Layout (big-endian): the magic number, the format version, the CRC32 checksum of the source text, the number of
+ * words, the number of letters, the letters, the word offsets, the number of index groups, the group starts and the
+ * index order.
+ *
+ * @author Charles Giovanniello
+ */
+public class DictionaryCompiler {
+
+    public static final int    MAGIC              = 0x484D5744; // "HMWD"
+    public static final int    VERSION            = 1;
+    public static final String COMPILED_EXTENSION = ".bin";
+
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+
+    private DictionaryCompiler() { }
+
+    /**
+     * Compiles a word list file into its binary form, written next to it.
+     *
+     * @param args The path of the word list to compile.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: DictionaryCompiler <path to words.txt>");
+            System.exit(1);
+        }
+        Path      source   = Paths.get(args[0]);
+        byte[]    contents = Files.readAllBytes(source);
+        WordIndex index    = new WordIndex(compile(contents));
+        write(compiledPath(source), checksum(contents), index);
+        System.out.printf("Compiled %d words into %s%n", index.getWords().size(), compiledPath(source));
+    }
+
+    public static Path compiledPath(Path source) {
+        return source.resolveSibling(source.getFileName().toString().replaceFirst("\\.txt$", "") + COMPILED_EXTENSION);
+    }
+
+    public static long checksum(byte[] contents) {
+        CRC32 crc = new CRC32();
+        crc.update(contents, 0, contents.length);
+        return crc.getValue();
+    }
+
+    /**
+     * Extracts the playable words from the contents of a word list, one word per line, dropping any repeats.
+     *
+     * @param contents The raw bytes of the word list.
+     * @return The playable words, in the order in which they first appear.
+     */
+    public static WordArena compile(byte[] contents) {
+        WordArena.Builder builder = new WordArena.Builder();
+        Set<String>       seen    = new HashSet<>();
+        for (int start = 0; start < contents.length; ) {
+            int end = start;
+            while (end < contents.length && contents[end] != '\n')
+                end++;
+            int length = (end > start && contents[end - 1] == '\r') ? end - start - 1 : end - start;
+            if (isPlayable(contents, start, length) && seen.add(new String(contents, start, length, ISO_8859_1)))
+                builder.add(contents, start, length);
+            start = end + 1;
+        }
+        return builder.build();
+    }
+
+    /**
+     * A word is playable only if it consists entirely of the lowercase letters a player can type. This leaves out
+     * entries like "and/or" or those with apostrophes, which could never be completed.
+     */
+    private static boolean isPlayable(byte[] contents, int start, int length) {
+        if (length == 0)
+            return false;
+        for (int i = start; i < start + length; i++) {
+            if (contents[i] < 'a' || contents[i] > 'z')
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes a compiled dictionary. The file is first written under a temporary name and then moved into place, so
+     * that a reader never sees a partially written dictionary.
+     */
+    public static void write(Path target, long checksum, WordIndex index) throws IOException {
+        WordArena words     = index.getWords();
+        byte[]    letters   = words.getLetters();
+        int[]     offsets   = words.getOffsets();
+        int[]     starts    = index.getStarts();
+        int[]     order     = index.getOrder();
+        Path      temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(checksum);
+            out.writeInt(words.size());
+            out.writeInt(letters.length);
+            out.write(letters);
+            for (int offset : offsets)
+                out.writeInt(offset);
+            out.writeInt(starts.length);
+            for (int start : starts)
+                out.writeInt(start);
+            for (int i : order)
+                out.writeInt(i);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a compiled dictionary, provided it was compiled by this version of the compiler from a source with the
+     * expected checksum. Every count in the file is checked against what is left of it before anything is allocated,
+     * and the arrays read are checked to be consistent with one another, so a damaged file is never trusted.
+     *
+     * @return The index over the compiled words, or {@code null} if the compiled file is missing, unreadable,
+     * truncated, damaged or out of date, in which case the word list should simply be compiled again.
+     */
+    public static WordIndex read(Path compiled, long expectedChecksum) {
+        try {
+            if (!Files.isRegularFile(compiled) || Files.size(compiled) < HEADER_SIZE)
+                return null;
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(compiled));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != expectedChecksum)
+                return null;
+
+            int size        = buffer.getInt();
+            int letterCount = buffer.getInt();
+            if (size < 0 || letterCount < 0 || letterCount > buffer.remaining())
+                return null;
+            byte[] letters = new byte[letterCount];
+            buffer.get(letters);
+            int[] offsets = readInts(buffer, size + 1L);
+            if (offsets == null || buffer.remaining() < 4)
+                return null;
+            int[] starts = readInts(buffer, buffer.getInt());
+            if (starts == null)
+                return null;
+            int[] order = readInts(buffer, size);
+            if (order == null || buffer.hasRemaining()
+                || !isConsistent(letters, offsets) || !isConsistent(size, starts, order))
+                return null;
+
+            return new WordIndex(new WordArena(letters, offsets), order, starts);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /** @return The next {@code count} ints of the buffer, or {@code null} if it does not hold that many. */
+    private static int[] readInts(ByteBuffer buffer, long count) {
+        if (count < 0 || count > buffer.remaining() / 4)
+            return null;
+        int[] ints = new int[(int) count];
+        buffer.asIntBuffer().get(ints);
+        buffer.position(buffer.position() + 4 * ints.length);
+        return ints;
+    }
+
+    /** @return Whether the letters are all playable, and the offsets run in order from the start to the end of them. */
+    private static boolean isConsistent(byte[] letters, int[] offsets) {
+        if (offsets[0] != 0 || offsets[offsets.length - 1] != letters.length)
+            return false;
+        for (byte letter : letters) {
+            if (letter < 'a' || letter > 'z')
+                return false;
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            if (offsets[i] < offsets[i - 1])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return Whether the group starts run in order from 0 to the number of words, in whole lengths' worth of groups,
+     * and the order holds the index of every word.
+     */
+    private static boolean isConsistent(int size, int[] starts, int[] order) {
+        int keysPerLength = WordIndex.MAX_DISTINCT_LETTERS + 1;
+        if (starts.length < keysPerLength + 1 || (starts.length - 1) % keysPerLength != 0
+            || starts[0] != 0 || starts[starts.length - 1] != size)
+            return false;
+        for (int k = 1; k < starts.length; k++) {
+            if (starts[k] < starts[k - 1])
+                return false;
+        }
+        boolean[] seen = new boolean[size];
+        for (int i : order) {
+            if (i < 0 || i >= size || seen[i])
+                return false;
+            seen[i] = true;
+        }
+        return true;
+    }
+}
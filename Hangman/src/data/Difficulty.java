@@ -0,0 +1,55 @@
+package data;
+
+/**
+ * The difficulty settings for choosing a target word. Each one is a range of word lengths and a range of the number
+ * of distinct letters in the word; long words with many distinct letters are the easiest to guess.
+ *
+ * @author Charles Giovanniello
+ */
+public enum Difficulty {
+    ANY(1, Integer.MAX_VALUE, 0, WordIndex.MAX_DISTINCT_LETTERS),
+    EASY(7, Integer.MAX_VALUE, 6, WordIndex.MAX_DISTINCT_LETTERS),
+    MEDIUM(5, 8, 4, WordIndex.MAX_DISTINCT_LETTERS),
+    HARD(3, 6, 1, 4);
+
+    private final int minLength;
+    private final int maxLength;
+    private final int minDistinct;
+    private final int maxDistinct;
+
+    Difficulty(int minLength, int maxLength, int minDistinct, int maxDistinct) {
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.minDistinct = minDistinct;
+        this.maxDistinct = maxDistinct;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public int getMinDistinct() {
+        return minDistinct;
+    }
+
+    public int getMaxDistinct() {
+        return maxDistinct;
+    }
+
+    /**
+     * @param name The name of a difficulty, in any case, e.g. as given in the properties.
+     * @return The difficulty of that name, or {@link #ANY} if there is none, so that a mistyped or missing setting
+     * does not keep a game from starting.
+     */
+    public static Difficulty parse(String name) {
+        for (Difficulty difficulty : values()) {
+            if (difficulty.name().equalsIgnoreCase(name == null ? "" : name.trim()))
+                return difficulty;
+        }
+        return ANY;
+    }
+}
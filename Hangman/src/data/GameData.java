@@ -5,127 +5,127 @@ import components.AppDataComponent;
 import controller.GameError;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.HashSet;
-import java.util.Random;
 import java.util.Set;
-import java.util.stream.Stream;
 
 /**
+ * The data component of the Hangman application. The rules of the game being played are kept in a
+ * {@link GameEngine}, which this class exposes to the rest of the application.
+ *
  * @author Ritwik Banerjee
  */
 public class GameData implements AppDataComponent {
 
-    public static final  int TOTAL_NUMBER_OF_GUESSES_ALLOWED = 10;
-    private static final int TOTAL_NUMBER_OF_STORED_WORDS    = 330622;
+    public static final int TOTAL_NUMBER_OF_GUESSES_ALLOWED = GameEngine.DEFAULT_GUESSES_ALLOWED;
 
-    private String         targetWord;
-    private Set<Character> goodGuesses;
-    private Set<Character> badGuesses;
-    private int            remainingGuesses;
-    public  AppTemplate    appTemplate;
+    private final GameEngine engine = new GameEngine(TOTAL_NUMBER_OF_GUESSES_ALLOWED);
+    private Difficulty       difficulty = Difficulty.ANY;
+    private boolean          dirty;      // whether the game has changed since it was last autosaved
+    public  AppTemplate      appTemplate;
 
     public GameData(AppTemplate appTemplate) {
         this(appTemplate, false);
     }
 
     public GameData(AppTemplate appTemplate, boolean initiateGame) {
-        if (initiateGame) {
-            this.appTemplate = appTemplate;
-            this.targetWord = setTargetWord();
-            this.goodGuesses = new HashSet<>();
-            this.badGuesses = new HashSet<>();
-            this.remainingGuesses = TOTAL_NUMBER_OF_GUESSES_ALLOWED;
-        } else {
-            this.appTemplate = appTemplate;
-        }
+        this.appTemplate = appTemplate;
+        if (initiateGame)
+            init();
     }
 
     public void init() {
-        this.targetWord = setTargetWord();
-        this.goodGuesses = new HashSet<>();
-        this.badGuesses = new HashSet<>();
-        this.remainingGuesses = TOTAL_NUMBER_OF_GUESSES_ALLOWED;
+        engine.newGame(chooseTargetWord());
     }
 
     @Override
     public void reset() {
-        this.targetWord = null;
-        this.goodGuesses = new HashSet<>();
-        this.badGuesses = new HashSet<>();
-        this.remainingGuesses = TOTAL_NUMBER_OF_GUESSES_ALLOWED;
+        engine.clear();
         appTemplate.getWorkspaceComponent().reloadWorkspace();
     }
 
+    public GameEngine getEngine() {
+        return engine;
+    }
+
     public String getTargetWord() {
-        return targetWord;
-    }
-
-    private String setTargetWord() {
-        URL wordsResource = getClass().getClassLoader().getResource("words/words.txt");
-        assert wordsResource != null;
-        boolean validWord = false;
-        String returnMe = "";
-
-        while(validWord == false) {
-            int toSkip = new Random().nextInt(TOTAL_NUMBER_OF_STORED_WORDS);
-            try (Stream<String> lines = Files.lines(Paths.get(wordsResource.toURI()))) {
-
-                returnMe = lines.skip(toSkip).findFirst().get();
-                if (returnMe.contains("'")){
-                    validWord = false;
-                }
-                else
-                    validWord = true;
-            } catch (IOException | URISyntaxException e) {
-                e.printStackTrace();
-                System.exit(1);
-            }
-        }
-        return returnMe;
+        return engine.getTargetWord();
+    }
 
+    private String chooseTargetWord() {
+        try {
+            return Dictionary.getDictionary().randomWord(difficulty);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        return null;
     }
 
     public GameData setTargetWord(String targetWord) {
-        this.targetWord = targetWord;
+        engine.setTargetWord(targetWord);
+        return this;
+    }
+
+    /**
+     * @return The positions, in increasing order, at which the given letter occurs in the target word. The returned
+     * array is shared, and must not be modified.
+     */
+    public int[] getPositions(char c) {
+        return engine.getPositions(c);
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public GameData setDirty(boolean dirty) {
+        this.dirty = dirty;
+        return this;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public GameData setDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
         return this;
     }
 
     public Set<Character> getGoodGuesses() {
-        return goodGuesses;
+        return engine.getGoodGuesses();
     }
 
     public GameData setGoodGuesses(Set<Character> goodGuesses) {
-        this.goodGuesses = goodGuesses;
+        engine.setGoodGuesses(goodGuesses);
         return this;
     }
 
     public Set<Character> getBadGuesses() {
-        return badGuesses;
+        return engine.getBadGuesses();
     }
 
     public GameData setBadGuesses(Set<Character> badGuesses) {
-        this.badGuesses = badGuesses;
+        engine.setBadGuesses(badGuesses);
         return this;
     }
 
     public int getRemainingGuesses() {
-        return remainingGuesses;
+        return engine.getRemainingGuesses();
     }
 
     public void addGoodGuess(char c) {
-        goodGuesses.add(c);
+        engine.addGoodGuess(c);
     }
 
     public void addBadGuess(char c) {
-        if (!badGuesses.contains(c)) {
-            badGuesses.add(c);
-            remainingGuesses--;
-        }
+        engine.addBadGuess(c);
     }
 
+    public boolean isGoodGuess(char c) {
+        return engine.isGoodGuess(c);
+    }
 
+    public boolean alreadyGuessed(char c) {
+        return engine.alreadyGuessed(c);
+    }
 }
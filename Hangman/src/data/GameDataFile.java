@@ -1,59 +1,121 @@
 package data;
 
-import com.fasterxml.jackson.core.*;
 import components.AppDataComponent;
+import components.AppFileCodecRegistry;
 import components.AppFileComponent;
+import components.CompressedFileCodec;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 /**
+ * Saves and loads games in any of the formats of its {@link #getCodecs() codecs}: a JSON document, a compact binary
+ * record, or gzip-compressed JSON. A game is saved in the format named by the extension of its file, and as JSON if
+ * the extension names none; on loading, the format is told by the first bytes of the file and then by its name, so
+ * that files in any format open whatever their name.
+ *
  * @author Ritwik Banerjee
  */
 public class GameDataFile implements AppFileComponent {
 
-    public static final String TARGET_WORD  = "TARGET_WORD";
-    public static final String GOOD_GUESSES = "GOOD_GUESSES";
-    public static final String BAD_GUESSES  = "BAD_GUESSES";
+    // saves are written one at a time, in the order in which they were requested, so a later save always wins
+    private static final ExecutorService saver = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "game-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AppFileCodecRegistry<GameEngine.Snapshot> codecs = new AppFileCodecRegistry<>(); // JSON first
+
+    /**
+     * @param gameDescription       The name of the JSON format as shown to the user.
+     * @param compactDescription    The name of the compact binary format as shown to the user.
+     * @param compressedDescription The name of the gzip-compressed JSON format as shown to the user.
+     */
+    public GameDataFile(String gameDescription, String compactDescription, String compressedDescription) {
+        JsonGameCodec json = new JsonGameCodec(gameDescription);
+        codecs.register(json)
+              .register(new BinaryGameCodec(compactDescription))
+              .register(new CompressedFileCodec<>(json, compressedDescription));
+    }
 
     @Override
-    public void saveData(AppDataComponent data, Path to) {
-        GameData       gamedata    = (GameData) data;
-        Set<Character> goodguesses = gamedata.getGoodGuesses();
-        Set<Character> badguesses  = gamedata.getBadGuesses();
-
-        JsonFactory jsonFactory = new JsonFactory();
-
-        try (OutputStream out = Files.newOutputStream(to)) {
-
-            JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
-
-            generator.writeStartObject();
-
-            generator.writeStringField(TARGET_WORD, gamedata.getTargetWord());
-
-            generator.writeFieldName(GOOD_GUESSES);
-            generator.writeStartArray(goodguesses.size());
-            for (Character c : goodguesses)
-                generator.writeString(c.toString());
-            generator.writeEndArray();
-
-            generator.writeFieldName(BAD_GUESSES);
-            generator.writeStartArray(badguesses.size());
-            for (Character c : badguesses)
-                generator.writeString(c.toString());
-            generator.writeEndArray();
+    public void saveData(AppDataComponent data, Path to) throws IOException {
+        write(((GameData) data).getEngine().snapshot(), to);
+    }
 
-            generator.writeEndObject();
+    /**
+     * Saves a game in the background. The state of the game is copied before this method returns, so the game can go
+     * on, or be replaced by another, while the save is being written.
+     *
+     * @param data The game to save.
+     * @param to   The file to save it to.
+     * @return The save in progress, which completes with the saved file, or exceptionally if the save failed.
+     */
+    public CompletableFuture<Path> saveDataAsync(AppDataComponent data, Path to) {
+        return writeAsync(((GameData) data).getEngine().snapshot(), to);
+    }
 
-            generator.close();
+    /**
+     * Writes a saved game in the background, after any saves requested before it.
+     *
+     * @return The save in progress, which completes with the saved file, or exceptionally if the save failed.
+     * @see #write(GameEngine.Snapshot, Path)
+     */
+    public CompletableFuture<Path> writeAsync(GameEngine.Snapshot snapshot, Path target) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                write(snapshot, target);
+                return target;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, saver);
+    }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.exit(1);
+    /**
+     * Writes a saved game. It is first written under a temporary name, forced to the disk, and only then moved over
+     * the target, so that a crash at any point leaves either the old or the new save in place, never a partial one.
+     *
+     * @param snapshot The state of the game to save.
+     * @param target   The file to save it to; its extension tells the format to save it in.
+     * @throws IOException If the save cannot be written, in which case the target is left as it was.
+     */
+    public void write(GameEngine.Snapshot snapshot, Path target) throws IOException {
+        ByteArrayOutputStream contents = new ByteArrayOutputStream(128);
+        codecs.selectForWriting(target).encode(snapshot, contents);
+
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(contents.toByteArray());
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+                channel.force(true);
+            }
+            try {
+                Files.move(temporary, target, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
         }
     }
 
@@ -61,37 +123,39 @@ public class GameDataFile implements AppFileComponent {
     public void loadData(AppDataComponent data, Path from) throws IOException {
         GameData gamedata = (GameData) data;
         gamedata.reset();
+        gamedata.getEngine().restore(read(from));
+    }
 
-        JsonFactory jsonFactory = new JsonFactory();
-        JsonParser  jsonParser  = jsonFactory.createParser(Files.newInputStream(from));
-
-        while (!jsonParser.isClosed()) {
-            JsonToken token = jsonParser.nextToken();
-            if (JsonToken.FIELD_NAME.equals(token)) {
-                String fieldname = jsonParser.getCurrentName();
-                switch (fieldname) {
-                    case TARGET_WORD:
-                        jsonParser.nextToken();
-                        gamedata.setTargetWord(jsonParser.getValueAsString());
-                        break;
-                    case GOOD_GUESSES:
-                        jsonParser.nextToken();
-                        while (jsonParser.nextToken() != JsonToken.END_ARRAY)
-                            gamedata.addGoodGuess(jsonParser.getText().charAt(0));
-                        break;
-                    case BAD_GUESSES:
-                        jsonParser.nextToken();
-                        while (jsonParser.nextToken() != JsonToken.END_ARRAY)
-                            gamedata.addBadGuess(jsonParser.getText().charAt(0));
-                        break;
-                    default:
-                        throw new JsonParseException(jsonParser, "Unable to load JSON data");
-                }
-            }
-        }
+    @Override
+    public AppFileCodecRegistry<GameEngine.Snapshot> getCodecs() {
+        return codecs;
     }
 
-    /** This method will be used if we need to export data into other formats. */
+    /**
+     * Reads a saved game without loading it into the application, e.g. to describe it in a list of saved games.
+     *
+     * @param from The saved game, in any format.
+     * @return The state of the saved game.
+     * @throws IOException If the file cannot be read, or does not hold a saved game.
+     */
+    public GameEngine.Snapshot read(Path from) throws IOException {
+        byte[] contents = Files.readAllBytes(from);
+        return codecs.selectForReading(from, contents).decode(new ByteArrayInputStream(contents));
+    }
+
+    /** @return Whether the given file is named like a saved game, in any format. */
+    public boolean isSaveName(Path file) {
+        return codecs.forFile(file) != null;
+    }
+
+    /**
+     * Exports the current game as a single record, in JSON Lines or, if the file ends in ".csv", in CSV. To export
+     * many games into one file, use a {@link GameExporter} directly.
+     */
     @Override
-    public void exportData(AppDataComponent data, Path filePath) throws IOException { }
+    public void exportData(AppDataComponent data, Path filePath) throws IOException {
+        try (GameExporter exporter = new GameExporter(filePath)) {
+            exporter.write(((GameData) data).getEngine());
+        }
+    }
 }
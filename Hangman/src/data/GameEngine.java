@@ -0,0 +1,269 @@
+package data;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The rules of a game of Hangman, independent of any user interface. An engine holds one game at a time: it is
+ * started with {@link #newGame(String)}, played with {@link #guess(char)}, and can be reused for any number of games
+ * without allocating anything beyond the letter table of each new target. This makes it suitable both for driving the
+ * JavaFX game and for simulating very many games, e.g. for load testing or evaluating bots.
+ *
+ * @author Charles Giovanniello
+ */
+public class GameEngine {
+
+    public static final int DEFAULT_GUESSES_ALLOWED = 10;
+
+    /** The outcome of a single guess. */
+    public enum Guess {
+        INVALID,  // not a character that can be guessed
+        REPEATED, // already guessed, so nothing changed
+        GOOD,     // the character occurs in the target word
+        BAD       // the character does not occur in the target word, and a guess was lost
+    }
+
+    public enum Status {
+        NOT_STARTED,
+        IN_PROGRESS,
+        WON,
+        LOST
+    }
+
+    private final int guessesAllowed;
+
+    private String          targetWord;
+    private LetterPositions letterPositions; // where each letter occurs in the target word
+    private final GuessSet  goodGuesses = new GuessSet();
+    private final GuessSet  badGuesses  = new GuessSet();
+    private int             remainingGuesses;
+    private int             discovered;      // the number of positions of the target word revealed so far
+
+    public GameEngine() {
+        this(DEFAULT_GUESSES_ALLOWED);
+    }
+
+    public GameEngine(int guessesAllowed) {
+        this.guessesAllowed = guessesAllowed;
+        clear();
+    }
+
+    /** Discards the current game, if any, leaving the engine without a target word. */
+    public void clear() {
+        targetWord = null;
+        letterPositions = null;
+        goodGuesses.clear();
+        badGuesses.clear();
+        remainingGuesses = guessesAllowed;
+        discovered = 0;
+    }
+
+    /**
+     * Starts a new game, discarding the current one.
+     *
+     * @param targetWord The word to be guessed.
+     */
+    public void newGame(String targetWord) {
+        clear();
+        setTargetWord(targetWord);
+    }
+
+    /**
+     * Changes the target word while keeping the guesses made so far, e.g. when a saved game is being restored.
+     *
+     * @param targetWord The word to be guessed.
+     */
+    public void setTargetWord(String targetWord) {
+        this.targetWord = targetWord;
+        this.letterPositions = targetWord == null ? null : new LetterPositions(targetWord);
+        discovered = 0;
+        if (letterPositions != null) {
+            for (int c = goodGuesses.next(0); c >= 0; c = goodGuesses.next(c + 1))
+                discovered += letterPositions.of((char) c).length;
+        }
+    }
+
+    /** @return Whether the character is one that a player can type as a guess. */
+    public static boolean isValidGuess(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= '`' && c <= 'z');
+    }
+
+    /**
+     * Plays a guess.
+     *
+     * @param c The guessed character.
+     * @return What became of the guess. Nothing changes unless it is {@link Guess#GOOD} or {@link Guess#BAD}.
+     */
+    public Guess guess(char c) {
+        if (!isValidGuess(c) || getStatus() != Status.IN_PROGRESS)
+            return Guess.INVALID;
+        if (alreadyGuessed(c))
+            return Guess.REPEATED;
+        int found = letterPositions.of(c).length;
+        if (found > 0) {
+            goodGuesses.add(c);
+            discovered += found;
+            return Guess.GOOD;
+        }
+        badGuesses.add(c);
+        remainingGuesses--;
+        return Guess.BAD;
+    }
+
+    /** Replaces the current game with a copy of the given one, e.g. when a saved game is being loaded. */
+    public void restore(Snapshot snapshot) {
+        clear();
+        setGoodGuesses(snapshot.goodGuesses);
+        setBadGuesses(snapshot.badGuesses);
+        setTargetWord(snapshot.targetWord);
+    }
+
+    /** Records a correct guess directly, without any checks, e.g. when a saved game is being restored. */
+    public void addGoodGuess(char c) {
+        if (goodGuesses.add(c) && letterPositions != null)
+            discovered += letterPositions.of(c).length;
+    }
+
+    /** Records a wrong guess directly, without any checks, e.g. when a saved game is being restored. */
+    public void addBadGuess(char c) {
+        if (badGuesses.add(c))
+            remainingGuesses--;
+    }
+
+    public void setGoodGuesses(Iterable<Character> guesses) {
+        goodGuesses.clear();
+        for (Character c : guesses)
+            goodGuesses.add(c.charValue());
+        setTargetWord(targetWord);
+    }
+
+    public void setBadGuesses(Iterable<Character> guesses) {
+        badGuesses.clear();
+        for (Character c : guesses)
+            badGuesses.add(c.charValue());
+        remainingGuesses = guessesAllowed - badGuesses.size();
+    }
+
+    /** @return The first letter of the target word that has not been revealed yet, or {@code '\0'} if none is left. */
+    public char hint() {
+        for (int i = 0; targetWord != null && i < targetWord.length(); i++) {
+            if (!goodGuesses.contains(targetWord.charAt(i)))
+                return targetWord.charAt(i);
+        }
+        return '\0';
+    }
+
+    public Status getStatus() {
+        if (targetWord == null)
+            return Status.NOT_STARTED;
+        if (discovered == targetWord.length())
+            return Status.WON;
+        if (remainingGuesses <= 0)
+            return Status.LOST;
+        return Status.IN_PROGRESS;
+    }
+
+    public boolean isWon() {
+        return getStatus() == Status.WON;
+    }
+
+    public boolean isLost() {
+        return getStatus() == Status.LOST;
+    }
+
+    public boolean isOver() {
+        Status status = getStatus();
+        return status == Status.WON || status == Status.LOST;
+    }
+
+    public String getTargetWord() {
+        return targetWord;
+    }
+
+    /**
+     * @return The positions, in increasing order, at which the given letter occurs in the target word. The returned
+     * array is shared, and must not be modified.
+     */
+    public int[] getPositions(char c) {
+        return letterPositions.of(c);
+    }
+
+    public GuessSet getGoodGuesses() {
+        return goodGuesses;
+    }
+
+    public GuessSet getBadGuesses() {
+        return badGuesses;
+    }
+
+    public boolean isGoodGuess(char c) {
+        return goodGuesses.contains(c);
+    }
+
+    public boolean alreadyGuessed(char c) {
+        return goodGuesses.contains(c) || badGuesses.contains(c);
+    }
+
+    public int getGuessesAllowed() {
+        return guessesAllowed;
+    }
+
+    public int getRemainingGuesses() {
+        return remainingGuesses;
+    }
+
+    public int getDiscovered() {
+        return discovered;
+    }
+
+    /** @return An immutable copy of the state of the current game. */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /** An immutable copy of the state of a game, which is safe to hand to other threads. */
+    public static class Snapshot {
+
+        private final String   targetWord;
+        private final GuessSet goodGuesses;
+        private final GuessSet badGuesses;
+        private final int      remainingGuesses;
+        private final Status   status;
+
+        private Snapshot(GameEngine engine) {
+            this.targetWord = engine.targetWord;
+            this.goodGuesses = new GuessSet(engine.goodGuesses);
+            this.badGuesses = new GuessSet(engine.badGuesses);
+            this.remainingGuesses = engine.remainingGuesses;
+            this.status = engine.getStatus();
+        }
+
+        public String getTargetWord() {
+            return targetWord;
+        }
+
+        public Set<Character> getGoodGuesses() {
+            return Collections.unmodifiableSet(goodGuesses);
+        }
+
+        public Set<Character> getBadGuesses() {
+            return Collections.unmodifiableSet(badGuesses);
+        }
+
+        GuessSet goodGuessSet() {
+            return goodGuesses;
+        }
+
+        GuessSet badGuessSet() {
+            return badGuesses;
+        }
+
+        public int getRemainingGuesses() {
+            return remainingGuesses;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package data;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Streams games to a file, one record per game, either as JSON Lines or as CSV. Records go through a single buffered
+ * writer over a file channel (and, for JSON Lines, a single generator), and nothing is kept of a record once it has
+ * been written, so any number of games can be exported in constant memory:
+ * <pre>
+ * try (GameExporter exporter = new GameExporter(target)) {
+ *     for (...)
+ *         exporter.write(engine);
+ * }
+ * </pre>
+ * Each record holds the target word, the good and the bad guesses (each as a string of the guessed characters, in
+ * increasing order), the number of remaining guesses and the status of the game.
+ *
+ * @author Charles Giovanniello
+ */
+public class GameExporter implements Closeable {
+
+    public static final String TARGET_WORD       = "TARGET_WORD";
+    public static final String GOOD_GUESSES      = "GOOD_GUESSES";
+    public static final String BAD_GUESSES       = "BAD_GUESSES";
+    public static final String REMAINING_GUESSES = "REMAINING_GUESSES";
+    public static final String STATUS            = "STATUS";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public enum Format {
+        JSON_LINES("jsonl"),
+        CSV("csv");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /** @return The format named by the extension of the given file, which is JSON Lines unless it is ".csv". */
+        public static Format of(Path file) {
+            return file.getFileName().toString().toLowerCase().endsWith("." + CSV.extension) ? CSV : JSON_LINES;
+        }
+    }
+
+    private final Format        format;
+    private final Writer        writer;
+    private final JsonGenerator generator; // null for CSV
+    private char[]              guesses = new char[128]; // reused to spell out the word and each set of guesses
+    private long                count;
+
+    /** Starts exporting to the given file, in the format named by its extension, replacing any existing contents. */
+    public GameExporter(Path target) throws IOException {
+        this(target, Format.of(target));
+    }
+
+    public GameExporter(Path target, Format format) throws IOException {
+        this.format = format;
+        FileChannel channel = FileChannel.open(target, CREATE, WRITE, TRUNCATE_EXISTING);
+        this.writer = new BufferedWriter(Channels.newWriter(channel, UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+        if (format == Format.JSON_LINES) {
+            generator = new JsonFactory().createGenerator(writer);
+            generator.setRootValueSeparator(null);
+        } else {
+            generator = null;
+            writer.write(String.join(",", TARGET_WORD, GOOD_GUESSES, BAD_GUESSES, REMAINING_GUESSES, STATUS));
+            writer.write('\n');
+        }
+    }
+
+    /** Writes the game currently held by the engine. */
+    public void write(GameEngine engine) throws IOException {
+        write(engine.getTargetWord(), engine.getGoodGuesses(), engine.getBadGuesses(), engine.getRemainingGuesses(),
+              engine.getStatus());
+    }
+
+    public void write(GameEngine.Snapshot snapshot) throws IOException {
+        write(snapshot.getTargetWord(), snapshot.goodGuessSet(), snapshot.badGuessSet(),
+              snapshot.getRemainingGuesses(), snapshot.getStatus());
+    }
+
+    private void write(String targetWord, GuessSet good, GuessSet bad, int remaining, GameEngine.Status status)
+            throws IOException {
+        if (format == Format.JSON_LINES) {
+            generator.writeStartObject();
+            generator.writeStringField(TARGET_WORD, targetWord);
+            generator.writeFieldName(GOOD_GUESSES);
+            generator.writeString(guesses, 0, spell(good));
+            generator.writeFieldName(BAD_GUESSES);
+            generator.writeString(guesses, 0, spell(bad));
+            generator.writeNumberField(REMAINING_GUESSES, remaining);
+            generator.writeStringField(STATUS, status.name());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } else {
+            writeCsvField(spell(targetWord));
+            writer.write(',');
+            writeCsvField(spell(good));
+            writer.write(',');
+            writeCsvField(spell(bad));
+            writer.write(',');
+            writer.write(Integer.toString(remaining));
+            writer.write(',');
+            writer.write(status.name());
+            writer.write('\n');
+        }
+        count++;
+    }
+
+    /** Spells out a set of guesses into the reused buffer, returning how many characters it takes. */
+    private int spell(GuessSet set) {
+        int length = 0;
+        for (int c = set.next(0); c >= 0; c = set.next(c + 1)) {
+            if (length == guesses.length)
+                guesses = Arrays.copyOf(guesses, 2 * length);
+            guesses[length++] = (char) c;
+        }
+        return length;
+    }
+
+    /** Copies a word, if any, into the reused buffer, returning how many characters it takes. */
+    private int spell(String word) {
+        if (word == null)
+            return 0;
+        if (word.length() > guesses.length)
+            guesses = new char[Math.max(word.length(), 2 * guesses.length)];
+        word.getChars(0, word.length(), guesses, 0);
+        return word.length();
+    }
+
+    /**
+     * Writes the first characters of the reused buffer as a CSV field, quoting it only if it holds a comma, a quote or
+     * a line break. The characters are written in runs straight from the buffer.
+     */
+    private void writeCsvField(int length) throws IOException {
+        char[]  field = guesses;
+        boolean quote = false;
+        for (int i = 0; i < length && !quote; i++) {
+            char c = field[i];
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(field, 0, length);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (field[i] == '"') {
+                writer.write(field, start, i + 1 - start);
+                start = i; // the quote starts the next run too, so that it is doubled
+            }
+        }
+        writer.write(field, start, length - start);
+        writer.write('"');
+    }
+
+    /** @return The number of games written so far. */
+    public long getCount() {
+        return count;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (generator != null)
+            generator.close(); // flushes the generator, and closes the writer along with it
+        writer.close();
+    }
+}
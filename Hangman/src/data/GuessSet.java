@@ -0,0 +1,181 @@
+package data;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of guessed characters kept as bits rather than boxed {@link Character}s. Every character a player can type
+ * falls in the ASCII range, which is covered by two {@code long} masks; any other character goes into a
+ * {@link BitSet} that is only created when needed. The primitive {@link #contains(char)} and {@link #add(char)}
+ * methods never allocate, while the {@link java.util.Set} methods keep the class usable wherever a
+ * {@code Set<Character>} is expected.
+ *
+ * @author Charles Giovanniello
+ */
+public class GuessSet extends AbstractSet<Character> {
+
+    private long   low;    // bit c is set if character c (0-63) is in the set
+    private long   high;   // bit c - 64 is set if character c (64-127) is in the set
+    private BitSet others; // any characters beyond the ASCII range, or null if there are none
+
+    public GuessSet() { }
+
+    public GuessSet(GuessSet other) {
+        this.low = other.low;
+        this.high = other.high;
+        this.others = other.others == null ? null : (BitSet) other.others.clone();
+    }
+
+    public GuessSet(Iterable<Character> characters) {
+        for (Character c : characters)
+            add(c.charValue());
+    }
+
+    public boolean contains(char c) {
+        if (c < 64)
+            return (low & (1L << c)) != 0;
+        if (c < 128)
+            return (high & (1L << (c - 64))) != 0;
+        return others != null && others.get(c);
+    }
+
+    /**
+     * Adds a character to this set.
+     *
+     * @return {@code true} if the character was not already in the set.
+     */
+    public boolean add(char c) {
+        if (contains(c))
+            return false;
+        if (c < 64)
+            low |= 1L << c;
+        else if (c < 128)
+            high |= 1L << (c - 64);
+        else {
+            if (others == null)
+                others = new BitSet();
+            others.set(c);
+        }
+        return true;
+    }
+
+    public boolean remove(char c) {
+        if (!contains(c))
+            return false;
+        if (c < 64)
+            low &= ~(1L << c);
+        else if (c < 128)
+            high &= ~(1L << (c - 64));
+        else
+            others.clear(c);
+        return true;
+    }
+
+    /** @return The bits for the characters 0 to 63, with bit {@code c} standing for character {@code c}. */
+    long lowBits() {
+        return low;
+    }
+
+    /** @return The bits for the characters 64 to 127, with bit {@code c - 64} standing for character {@code c}. */
+    long highBits() {
+        return high;
+    }
+
+    /** Adds every character whose bit is set in either mask, as given by {@link #lowBits()} and {@link #highBits()}. */
+    void addBits(long low, long high) {
+        this.low |= low;
+        this.high |= high;
+    }
+
+    /** @return The bits for the characters 'a' to 'z', with bit 0 standing for 'a'. */
+    public int lowercaseMask() {
+        return (int) (high >>> ('a' - 64)) & ((1 << 26) - 1);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Character && contains(((Character) o).charValue());
+    }
+
+    @Override
+    public boolean add(Character c) {
+        return add(c.charValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Character && remove(((Character) o).charValue());
+    }
+
+    @Override
+    public void clear() {
+        low = 0;
+        high = 0;
+        others = null;
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(low) + Long.bitCount(high) + (others == null ? 0 : others.cardinality());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Iterator<Character> iterator() {
+        return new Iterator<Character>() {
+            private int next    = GuessSet.this.next(0);
+            private int current = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public Character next() {
+                if (next < 0)
+                    throw new NoSuchElementException();
+                current = next;
+                next = GuessSet.this.next(next + 1);
+                return (char) current;
+            }
+
+            @Override
+            public void remove() {
+                if (current < 0)
+                    throw new IllegalStateException();
+                GuessSet.this.remove((char) current);
+                current = -1;
+            }
+        };
+    }
+
+    /**
+     * Finds the next character in this set, so that the set can be walked without boxing its characters:
+     * {@code for (int c = set.next(0); c >= 0; c = set.next(c + 1))}.
+     *
+     * @param from The character at which to start looking.
+     * @return The smallest character in the set that is no smaller than {@code from}, or -1 if there is none.
+     */
+    public int next(int from) {
+        if (from < 64) {
+            long bits = low & (-1L << from);
+            if (bits != 0)
+                return Long.numberOfTrailingZeros(bits);
+            from = 64;
+        }
+        if (from < 128) {
+            long bits = high & (-1L << (from - 64));
+            if (bits != 0)
+                return 64 + Long.numberOfTrailingZeros(bits);
+            from = 128;
+        }
+        return others == null ? -1 : others.nextSetBit(from);
+    }
+}
@@ -0,0 +1,97 @@
+package data;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A bounded first-in, first-out queue of typed characters, each with the time at which it was typed and the time at
+ * which it was queued. It is a ring buffer over primitive arrays, so neither adding nor taking a character allocates
+ * anything. Once the queue is
+ * full, further characters are rejected rather than growing it, since no player types that far ahead of the game.
+ *
+ * @author Charles Giovanniello
+ */
+public class InputQueue {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final char[] characters;
+    private final long[] times;       // when each character was typed
+    private final long[] queuedTimes; // when each character was queued
+    private int          head; // the index of the oldest character
+    private int          size;
+
+    public InputQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InputQueue(int capacity) {
+        this.characters = new char[capacity];
+        this.times = new long[capacity];
+        this.queuedTimes = new long[capacity];
+    }
+
+    /**
+     * Adds a character at the end of the queue.
+     *
+     * @param c      The typed character.
+     * @param time   The time at which it was typed, in the units of {@link System#nanoTime()}.
+     * @param queued The time at which it is being queued, in the same units.
+     * @return {@code false} if the queue is full, in which case the character is dropped.
+     */
+    public boolean offer(char c, long time, long queued) {
+        if (size == characters.length)
+            return false;
+        int tail = (head + size) % characters.length;
+        characters[tail] = c;
+        times[tail] = time;
+        queuedTimes[tail] = queued;
+        size++;
+        return true;
+    }
+
+    /** @return The oldest character in the queue, which stays in it. */
+    public char peek() {
+        if (size == 0)
+            throw new NoSuchElementException("The input queue is empty.");
+        return characters[head];
+    }
+
+    /** @return The time at which the oldest character in the queue was typed. */
+    public long peekTime() {
+        if (size == 0)
+            throw new NoSuchElementException("The input queue is empty.");
+        return times[head];
+    }
+
+    /** @return The time at which the oldest character in the queue was queued. */
+    public long peekQueuedTime() {
+        if (size == 0)
+            throw new NoSuchElementException("The input queue is empty.");
+        return queuedTimes[head];
+    }
+
+    /** @return The oldest character in the queue, which is removed from it. */
+    public char poll() {
+        char c = peek();
+        head = (head + 1) % characters.length;
+        size--;
+        return c;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return characters.length;
+    }
+}
@@ -0,0 +1,121 @@
+package data;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import components.AppFileCodec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Saves a game as a JSON document, with the target word and the arrays of good and bad guesses.
+ * <p>
+ * A single {@link JsonFactory} is shared by every call, so that the symbol tables and the buffers it recycles are set
+ * up once rather than for every save; parsers and generators are cheap to create from it, and never close the
+ * streams they are given.
+ *
+ * @author Charles Giovanniello
+ */
+public class JsonGameCodec implements AppFileCodec<GameEngine.Snapshot> {
+
+    public static final String NAME         = "json";
+    public static final String CONTENT_TYPE = "application/json";
+    public static final String EXTENSION    = "json";
+
+    public static final String TARGET_WORD  = "TARGET_WORD";
+    public static final String GOOD_GUESSES = "GOOD_GUESSES";
+    public static final String BAD_GUESSES  = "BAD_GUESSES";
+
+    private final JsonFactory jsonFactory = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    private final String      description;
+
+    public JsonGameCodec(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public List<String> getExtensions() {
+        return Collections.singletonList(EXTENSION);
+    }
+
+    @Override
+    public void encode(GameEngine.Snapshot snapshot, OutputStream out) throws IOException {
+        GuessSet goodguesses = snapshot.goodGuessSet();
+        GuessSet badguesses  = snapshot.badGuessSet();
+
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+
+            generator.writeStringField(TARGET_WORD, snapshot.getTargetWord());
+
+            generator.writeFieldName(GOOD_GUESSES);
+            generator.writeStartArray(goodguesses.size());
+            for (Character c : goodguesses)
+                generator.writeString(c.toString());
+            generator.writeEndArray();
+
+            generator.writeFieldName(BAD_GUESSES);
+            generator.writeStartArray(badguesses.size());
+            for (Character c : badguesses)
+                generator.writeString(c.toString());
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    public GameEngine.Snapshot decode(InputStream in) throws IOException {
+        GameEngine engine = new GameEngine(GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED);
+        try (JsonParser jsonParser = jsonFactory.createParser(in)) {
+            for (JsonToken token = jsonParser.nextToken(); token != null; token = jsonParser.nextToken()) {
+                if (JsonToken.FIELD_NAME.equals(token)) {
+                    String fieldname = jsonParser.getCurrentName();
+                    switch (fieldname) {
+                        case TARGET_WORD:
+                            jsonParser.nextToken();
+                            engine.setTargetWord(jsonParser.getValueAsString());
+                            break;
+                        case GOOD_GUESSES:
+                            jsonParser.nextToken();
+                            while (jsonParser.nextToken() != JsonToken.END_ARRAY)
+                                engine.addGoodGuess(jsonParser.getText().charAt(0));
+                            break;
+                        case BAD_GUESSES:
+                            jsonParser.nextToken();
+                            while (jsonParser.nextToken() != JsonToken.END_ARRAY)
+                                engine.addBadGuess(jsonParser.getText().charAt(0));
+                            break;
+                        default:
+                            throw new JsonParseException(jsonParser, "Unable to load JSON data");
+                    }
+                }
+            }
+        }
+        return engine.snapshot();
+    }
+}
@@ -0,0 +1,66 @@
+package data;
+
+/**
+ * A table from each letter of a target word to the positions at which that letter occurs. It is built once, when the
+ * target is chosen, so that a guess is a single lookup that returns exactly the positions to reveal, however long the
+ * target word or phrase is.
+ *
+ * @author Charles Giovanniello
+ */
+public class LetterPositions {
+
+    private static final int[] NONE = new int[0];
+
+    private final String  word;
+    private final int[][] positions; // positions[c] lists where ASCII character c occurs, or is null if it does not
+
+    public LetterPositions(String word) {
+        this.word = word;
+        this.positions = new int[128][];
+
+        int[] counts = new int[128];
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 128)
+                counts[c]++;
+        }
+        for (int c = 0; c < 128; c++) {
+            if (counts[c] > 0)
+                positions[c] = new int[counts[c]];
+            counts[c] = 0;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 128)
+                positions[c][counts[c]++] = i;
+        }
+    }
+
+    /**
+     * @return The positions, in increasing order, at which the given letter occurs in the word. The returned array is
+     * shared, and must not be modified.
+     */
+    public int[] of(char c) {
+        if (c < 128)
+            return positions[c] == null ? NONE : positions[c];
+
+        // characters beyond ASCII are rare enough to be looked up directly
+        int count = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) == c)
+                count++;
+        }
+        if (count == 0)
+            return NONE;
+        int[] found = new int[count];
+        for (int i = 0, j = 0; i < word.length(); i++) {
+            if (word.charAt(i) == c)
+                found[j++] = i;
+        }
+        return found;
+    }
+
+    public boolean contains(char c) {
+        return of(c).length > 0;
+    }
+}
@@ -0,0 +1,372 @@
+package data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * A catalog of the games saved in a directory, which describes each of them (the length of its word, the guesses it
+ * has left, its outcome and when it was saved) so that they can be browsed without opening every save.
+ * <p>
+ * The catalog is kept in an index file, {@link #INDEX_FILE}, in the directory itself. When the catalog is opened, the
+ * index is read and checked against the directory, and only the saves that were added or changed since it was written
+ * are read again. From then on, a background thread watches the directory and updates the catalog, and the index, for
+ * each save as it is written, replaced or deleted. Until the catalog is first up to date, which for thousands of
+ * saves may take a while, callers on the JavaFX application thread should wait for {@link #whenReady()} rather than
+ * ask for the catalog's contents.
+ * <p>
+ * Index layout (big-endian): the magic number, the format version and the number of entries, then for each entry its
+ * file name (as modified UTF-8), modification time, file size, word length (int), remaining guesses (int) and status
+ * ordinal.
+ *
+ * @author Charles Giovanniello
+ */
+public class SavedGamesCatalog {
+
+    public static final String INDEX_FILE    = "catalog.idx";
+    public static final int    INDEX_MAGIC   = 0x484D4743; // "HMGC"
+    public static final int    INDEX_VERSION = 2;
+
+    // newest saves first, and saves made at the same time in order of their names
+    private static final Comparator<Entry> NEWEST_FIRST =
+            Comparator.comparingLong(Entry::getModified).reversed().thenComparing(Entry::getFileName);
+
+    private final GameDataFile                         reader;   // reads the saved games
+    private final Path                                 directory;
+    private final Path                                 indexFile;
+    private final Set<String>                          excluded; // names of saves that are not catalogued
+    private final Map<String, Entry>                   entries = new HashMap<>(); // by file name
+    private final CompletableFuture<SavedGamesCatalog> ready   = new CompletableFuture<>(); // once first up to date
+    private List<Entry>                                sorted;   // the entries, newest first, or null if out of date
+    private WatchService                               watcher;
+
+    private SavedGamesCatalog(GameDataFile reader, Path directory, Set<String> excluded) {
+        this.reader = reader;
+        this.directory = directory;
+        this.indexFile = directory.resolve(INDEX_FILE);
+        this.excluded = excluded;
+    }
+
+    /**
+     * Opens the catalog of a directory of saved games. The catalog is brought up to date, and then kept up to date, in
+     * the background; until it first is, {@link #size()} and {@link #page(int, int)} wait for it.
+     *
+     * @param reader    The file component that reads the saved games.
+     * @param directory The directory of saved games.
+     * @param excluded  The names of saves in the directory that are not to be catalogued, such as the autosave.
+     * @return The catalog of the directory.
+     */
+    public static SavedGamesCatalog open(GameDataFile reader, Path directory, String... excluded) {
+        SavedGamesCatalog catalog = new SavedGamesCatalog(reader, directory, new HashSet<>(Arrays.asList(excluded)));
+        Thread            thread  = new Thread(catalog::run, "saved-games-catalog");
+        thread.setDaemon(true);
+        thread.start();
+        return catalog;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return A future completed with this catalog once it is first up to date, from which on {@link #size()} and
+     * {@link #page(int, int)} no longer wait. If the directory cannot be read, it is completed all the same, with
+     * whatever the catalog holds.
+     */
+    public CompletableFuture<SavedGamesCatalog> whenReady() {
+        return ready;
+    }
+
+    /** @return The number of saved games in the catalog. */
+    public int size() {
+        awaitReady();
+        synchronized (this) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns a page of the catalog, newest saves first.
+     *
+     * @param page     The index of the page, from 0.
+     * @param pageSize The number of entries in a page.
+     * @return The entries on the page, which are fewer than a full page on the last page, and none past it.
+     */
+    public List<Entry> page(int page, int pageSize) {
+        awaitReady();
+        synchronized (this) {
+            if (sorted == null) {
+                sorted = new ArrayList<>(entries.values());
+                sorted.sort(NEWEST_FIRST);
+            }
+            int from = Math.min(page * pageSize, sorted.size());
+            int to   = Math.min(from + pageSize, sorted.size());
+            return new ArrayList<>(sorted.subList(from, to));
+        }
+    }
+
+    /**
+     * Stops watching the directory, as soon as the catalog is first up to date. The catalog keeps the entries it has,
+     * but is no longer updated.
+     */
+    public void close() {
+        ready.thenRun(() -> {
+            try {
+                if (watcher != null)
+                    watcher.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    private void awaitReady() {
+        ready.join();
+    }
+
+    private void run() {
+        try {
+            Files.createDirectories(directory);
+            // watch before scanning, so that no save made during the scan is missed
+            watcher = directory.getFileSystem().newWatchService();
+            directory.register(watcher, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            readIndex();
+            if (reconcile())
+                writeIndex();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        } finally {
+            ready.complete(this);
+        }
+        try {
+            while (true) {
+                WatchKey key     = watcher.take();
+                boolean  changed = false;
+                try {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == OVERFLOW)
+                            changed |= reconcile();
+                        else
+                            changed |= update(directory.resolve((Path) event.context()));
+                    }
+                    if (changed)
+                        writeIndex();
+                } catch (IOException e) {
+                    e.printStackTrace(); // the catalog itself is still up to date, and the index is rewritten next time
+                }
+                if (!key.reset())
+                    return; // the directory is gone
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // the catalog was closed
+        }
+    }
+
+    /**
+     * Brings the catalog up to date with the whole directory: every save whose size or modification time differs from
+     * its entry is read again, and the entries of saves that are gone are removed.
+     *
+     * @return Whether the catalog changed.
+     */
+    private boolean reconcile() throws IOException {
+        Set<String> present = new HashSet<>();
+        boolean     changed = false;
+        try (DirectoryStream<Path> saves = Files.newDirectoryStream(directory, this::isCatalogued)) {
+            for (Path save : saves) {
+                present.add(save.getFileName().toString());
+                changed |= update(save);
+            }
+        }
+        synchronized (this) {
+            if (entries.keySet().retainAll(present)) {
+                sorted = null;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return Whether a file is catalogued: only saved games are, and not the excluded ones. The index itself, or a
+     * save still being written under a temporary name, is not.
+     */
+    private boolean isCatalogued(Path file) {
+        return reader.isSaveName(file) && !excluded.contains(file.getFileName().toString());
+    }
+
+    /**
+     * Brings the entry of one file up to date. Files that are not catalogued are ignored.
+     *
+     * @return Whether the catalog changed.
+     */
+    private boolean update(Path file) {
+        if (!isCatalogued(file))
+            return false;
+        String name = file.getFileName().toString();
+        Entry  entry;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            long                modified   = attributes.lastModifiedTime().toMillis();
+            synchronized (this) {
+                Entry current = entries.get(name);
+                if (current != null && current.modified == modified && current.size == attributes.size())
+                    return false;
+            }
+            GameEngine.Snapshot game = reader.read(file);
+            entry = new Entry(name, modified, attributes.size(),
+                              game.getTargetWord() == null ? 0 : game.getTargetWord().length(),
+                              game.getRemainingGuesses(), game.getStatus());
+        } catch (NoSuchFileException e) {
+            entry = null; // deleted
+        } catch (IOException e) {
+            System.err.printf("Skipping %s, which is not a readable saved game.%n", file);
+            entry = null;
+        }
+        synchronized (this) {
+            Entry previous = entry == null ? entries.remove(name) : entries.put(name, entry);
+            if (entry == null && previous == null)
+                return false;
+            sorted = null;
+            return true;
+        }
+    }
+
+    private void readIndex() {
+        if (!Files.exists(indexFile))
+            return;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(indexFile))) {
+            if (in.readInt() != INDEX_MAGIC || in.readByte() != INDEX_VERSION)
+                return; // not an index this version can read; it is rebuilt from the saves
+            GameEngine.Status[] statuses = GameEngine.Status.values();
+            Map<String, Entry>  read     = new HashMap<>();
+            for (int count = in.readInt(); count > 0; count--) {
+                Entry entry = new Entry(in.readUTF(), in.readLong(), in.readLong(), in.readInt(), in.readInt(),
+                                        statuses[in.readUnsignedByte()]);
+                read.put(entry.fileName, entry);
+            }
+            synchronized (this) {
+                entries.putAll(read);
+                sorted = null;
+            }
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            System.err.printf("Rebuilding the damaged catalog %s.%n", indexFile);
+        }
+    }
+
+    /** Rewrites the index, under a temporary name that is then moved over it, so that it is never left partial. */
+    private void writeIndex() throws IOException {
+        List<Entry> written;
+        synchronized (this) {
+            written = new ArrayList<>(entries.values());
+        }
+        ByteArrayOutputStream contents = new ByteArrayOutputStream(64 * written.size() + 16);
+        DataOutputStream      out      = new DataOutputStream(contents);
+        out.writeInt(INDEX_MAGIC);
+        out.writeByte(INDEX_VERSION);
+        out.writeInt(written.size());
+        for (Entry entry : written) {
+            out.writeUTF(entry.fileName);
+            out.writeLong(entry.modified);
+            out.writeLong(entry.size);
+            out.writeInt(entry.wordLength);
+            out.writeInt(entry.remainingGuesses);
+            out.writeByte(entry.status.ordinal());
+        }
+        out.flush();
+
+        Path temporary = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(contents.toByteArray());
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+            }
+            try {
+                Files.move(temporary, indexFile, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, indexFile, REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /** The description of one saved game in the catalog. */
+    public static class Entry {
+
+        private final String            fileName;
+        private final long              modified; // in milliseconds since the epoch
+        private final long              size;     // in bytes
+        private final int               wordLength;
+        private final int               remainingGuesses;
+        private final GameEngine.Status status;
+
+        private Entry(String fileName, long modified, long size, int wordLength, int remainingGuesses,
+                      GameEngine.Status status) {
+            this.fileName = fileName;
+            this.modified = modified;
+            this.size = size;
+            this.wordLength = wordLength;
+            this.remainingGuesses = remainingGuesses;
+            this.status = status;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        /** @return When the game was saved, in milliseconds since the epoch. */
+        public long getModified() {
+            return modified;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public int getWordLength() {
+            return wordLength;
+        }
+
+        public int getRemainingGuesses() {
+            return remainingGuesses;
+        }
+
+        public GameEngine.Status getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A packed, read-only store of words. All the words share a single Latin-1 {@code byte[]}, and an {@code int[]}
+ * table holds the offset at which each one starts, so the store costs roughly one byte per letter plus four bytes per
+ * word. A {@link String} is only created when a caller asks for a word with {@link #get(int)}.
+ *
+ * @author Charles Giovanniello
+ */
+public class WordArena {
+
+    /** Receives the words of an arena one at a time, directly from its backing array. */
+    public interface WordVisitor {
+        void visit(int index, byte[] letters, int offset, int length);
+    }
+
+    private final byte[] letters; // all the words, back to back
+    private final int[]  offsets; // offsets[i] is where word i starts, and offsets[size()] is the end of the last word
+
+    WordArena(byte[] letters, int[] offsets) {
+        this.letters = letters;
+        this.offsets = offsets;
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    public int length(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    public char charAt(int index, int position) {
+        return (char) (letters[offsets[index] + position] & 0xFF);
+    }
+
+    public String get(int index) {
+        return new String(letters, offsets[index], length(index), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Visits every word in order without creating any objects along the way.
+     *
+     * @param visitor The visitor that is shown each word.
+     */
+    public void forEach(WordVisitor visitor) {
+        for (int i = 0; i < size(); i++)
+            visitor.visit(i, letters, offsets[i], offsets[i + 1] - offsets[i]);
+    }
+
+    byte[] getLetters() {
+        return letters;
+    }
+
+    int[] getOffsets() {
+        return offsets;
+    }
+
+    /** @return The number of bytes held by the arrays backing this arena. */
+    public long arrayBytes() {
+        return letters.length + 4L * offsets.length;
+    }
+
+    public static class Builder {
+
+        private byte[] letters = new byte[1 << 16];
+        private int[]  offsets = new int[1 << 12];
+        private int    size    = 0;
+        private int    end     = 0;
+
+        public Builder add(byte[] source, int offset, int length) {
+            if (end + length > letters.length)
+                letters = Arrays.copyOf(letters, Math.max(letters.length * 2, end + length));
+            if (size + 2 > offsets.length)
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            System.arraycopy(source, offset, letters, end, length);
+            offsets[size++] = end;
+            end += length;
+            return this;
+        }
+
+        public Builder add(String word) {
+            byte[] bytes = word.getBytes(StandardCharsets.ISO_8859_1);
+            return add(bytes, 0, bytes.length);
+        }
+
+        public WordArena build() {
+            offsets[size] = end;
+            return new WordArena(Arrays.copyOf(letters, end), Arrays.copyOf(offsets, size + 1));
+        }
+    }
+}
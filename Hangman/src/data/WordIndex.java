@@ -0,0 +1,122 @@
+package data;
+
+import java.util.Random;
+
+/**
+ * An index over a {@link WordArena} that groups its words by length and, within each length, by the number of
+ * distinct letters they contain. Every group occupies a contiguous run of one array, so a random word within a length
+ * range is picked with a single lookup, and one that is also within a distinct-letter range needs only one pass over
+ * the (at most a few dozen) lengths.
+ *
+ * @author Charles Giovanniello
+ */
+public class WordIndex {
+
+    public static final int MAX_DISTINCT_LETTERS = 26;
+
+    private static final int KEYS_PER_LENGTH = MAX_DISTINCT_LETTERS + 1;
+
+    private final WordArena words;     // the words being indexed
+    private final int[]     order;     // word indices, sorted by length and then by the number of distinct letters
+    private final int[]     starts;    // starts[key(l, d)] is the first position in 'order' of the words in that group
+    private final int       maxLength; // the length of the longest word in the index
+
+    public WordIndex(WordArena words) {
+        this.words = words;
+        int[] keys    = new int[words.size()];
+        int   longest = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int length = words.length(i);
+            int seen   = 0;
+            for (int j = 0; j < length; j++)
+                seen |= 1 << (words.charAt(i, j) - 'a');
+            keys[i] = key(length, Integer.bitCount(seen));
+            longest = Math.max(longest, length);
+        }
+        maxLength = longest;
+
+        // a counting sort on the keys leaves every group contiguous
+        starts = new int[key(maxLength + 1, 0) + 1];
+        for (int key : keys)
+            starts[key + 1]++;
+        for (int k = 1; k < starts.length; k++)
+            starts[k] += starts[k - 1];
+        order = new int[keys.length];
+        int[] next = starts.clone();
+        for (int i = 0; i < keys.length; i++)
+            order[next[keys[i]]++] = i;
+    }
+
+    WordIndex(WordArena words, int[] order, int[] starts) {
+        this.words = words;
+        this.order = order;
+        this.starts = starts;
+        this.maxLength = (starts.length - 1) / KEYS_PER_LENGTH - 1;
+    }
+
+    private static int key(int length, int distinct) {
+        return length * KEYS_PER_LENGTH + distinct;
+    }
+
+    int[] getOrder() {
+        return order;
+    }
+
+    int[] getStarts() {
+        return starts;
+    }
+
+    public WordArena getWords() {
+        return words;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /** @return The number of words whose length lies in the given (inclusive) range. */
+    public int count(int minLength, int maxLength) {
+        return count(minLength, maxLength, 0, MAX_DISTINCT_LETTERS);
+    }
+
+    /** @return The number of words whose length and number of distinct letters lie in the given (inclusive) ranges. */
+    public int count(int minLength, int maxLength, int minDistinct, int maxDistinct) {
+        minLength = Math.max(minLength, 0);
+        maxLength = Math.min(maxLength, this.maxLength);
+        minDistinct = Math.max(minDistinct, 0);
+        maxDistinct = Math.min(maxDistinct, MAX_DISTINCT_LETTERS);
+        if (minLength > maxLength || minDistinct > maxDistinct)
+            return 0;
+        if (minDistinct == 0 && maxDistinct == MAX_DISTINCT_LETTERS)
+            return starts[key(maxLength + 1, 0)] - starts[key(minLength, 0)];
+        int total = 0;
+        for (int length = minLength; length <= maxLength; length++)
+            total += starts[key(length, maxDistinct) + 1] - starts[key(length, minDistinct)];
+        return total;
+    }
+
+    /**
+     * Picks a word uniformly at random among those whose length and number of distinct letters lie in the given
+     * (inclusive) ranges.
+     *
+     * @return The index of the chosen word in the arena, or -1 if no word matches.
+     */
+    public int randomIndex(Random random, int minLength, int maxLength, int minDistinct, int maxDistinct) {
+        int total = count(minLength, maxLength, minDistinct, maxDistinct);
+        if (total == 0)
+            return -1;
+        int pick = random.nextInt(total);
+        minLength = Math.max(minLength, 0);
+        minDistinct = Math.max(minDistinct, 0);
+        maxDistinct = Math.min(maxDistinct, MAX_DISTINCT_LETTERS);
+        if (minDistinct == 0 && maxDistinct == MAX_DISTINCT_LETTERS)
+            return order[starts[key(minLength, 0)] + pick];
+        for (int length = minLength; ; length++) {
+            int first = starts[key(length, minDistinct)];
+            int size  = starts[key(length, maxDistinct) + 1] - first;
+            if (pick < size)
+                return order[first + pick];
+            pick -= size;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package gui;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.transform.Transform;
+
+/**
+ * The stages of the hanging figure, pre-rendered into a single sprite atlas. Frame {@code n} of the atlas shows the
+ * first {@code n + 1} body parts, so that showing any stage, including the final stage of a restored game, takes a
+ * single {@link GraphicsContext#drawImage} call. The atlas can be rendered at a higher scale than it is drawn, which
+ * keeps the figure sharp on HiDPI displays.
+ *
+ * @author Charles Giovanniello
+ */
+public class BodyPartSprites {
+
+    public static final int STAGES  = 10;
+    public static final int COLUMNS = 5; // frames per row of the atlas, which keeps it well within texture limits
+
+    // the region of the workspace canvas covered by the figure, with a little room for the outline of the head
+    static final double X      = 205;
+    static final double Y      = 25;
+    static final double WIDTH  = 305;
+    static final double HEIGHT = 280;
+
+    private final double        scale; // the resolution at which the atlas is rendered, relative to the canvas
+    private       WritableImage atlas; // frame n (from 0 to STAGES - 1) shows the first n + 1 body parts
+
+    public BodyPartSprites(double scale) {
+        this.scale = scale;
+    }
+
+    /**
+     * Draws the figure as it appears at the given stage, replacing whatever stage was drawn before. This must be
+     * called on the JavaFX application thread.
+     *
+     * @param gc    The graphics context of the workspace canvas.
+     * @param stage The number of body parts to show, from 0 to {@link #STAGES}.
+     */
+    public void drawStage(GraphicsContext gc, int stage) {
+        gc.clearRect(X, Y, WIDTH, HEIGHT);
+        if (stage <= 0)
+            return;
+        int frame = Math.min(stage, STAGES) - 1;
+        gc.drawImage(getAtlas(), (frame % COLUMNS) * WIDTH * scale, (frame / COLUMNS) * HEIGHT * scale,
+                     WIDTH * scale, HEIGHT * scale, X, Y, WIDTH, HEIGHT);
+    }
+
+    private WritableImage getAtlas() {
+        if (atlas == null) {
+            int             rows   = (STAGES + COLUMNS - 1) / COLUMNS;
+            Canvas          canvas = new Canvas(WIDTH * COLUMNS, HEIGHT * rows);
+            GraphicsContext gc     = canvas.getGraphicsContext2D();
+            for (int frame = 0; frame < STAGES; frame++) {
+                gc.save();
+                gc.translate((frame % COLUMNS) * WIDTH - X, (frame / COLUMNS) * HEIGHT - Y);
+                for (int part = 0; part <= frame; part++)
+                    drawPart(gc, part);
+                gc.restore();
+            }
+            SnapshotParameters parameters = new SnapshotParameters();
+            parameters.setFill(Color.TRANSPARENT);
+            parameters.setTransform(Transform.scale(scale, scale));
+            atlas = canvas.snapshot(parameters, null);
+        }
+        return atlas;
+    }
+
+    /** Draws one body part, in the coordinates of the workspace canvas. */
+    private static void drawPart(GraphicsContext gc, int part) {
+        switch (part) {
+            case 0: // HEAD
+                gc.setFill(Paint.valueOf("red"));
+                gc.fillRect(300, 50, 115, 80);
+                gc.beginPath();
+                gc.setStroke(Paint.valueOf("blue"));
+                gc.setLineWidth(1);
+                gc.rect(300, 50, 115, 80);
+                gc.stroke();
+                break;
+            case 1: // HAIR
+                gc.setFill(Paint.valueOf("black"));
+                for (int x = 300 + 5; x <= 300 + 110; x += 5)
+                    gc.fillRect(x, 30, 3, 20);
+                break;
+            case 2: // LEFT EYE
+                gc.setFill(Paint.valueOf("blue"));
+                gc.fillRect(300 + 15, 50 + 30, 25, 25);
+                gc.setFill(Paint.valueOf("white"));
+                gc.fillRect(300 + 23, 50 + 38, 10, 10);
+                break;
+            case 3: // RIGHT EYE
+                gc.setFill(Paint.valueOf("blue"));
+                gc.fillRect(300 + 75, 50 + 30, 25, 25);
+                gc.setFill(Paint.valueOf("white"));
+                gc.fillRect(300 + 83, 50 + 38, 10, 10);
+                break;
+            case 4: // MOUTH
+                gc.setFill(Paint.valueOf("black"));
+                gc.fillRect(300 + 12, 50 + 60, 85, 3);
+                break;
+            case 5: // BODY
+                gc.setFill(Paint.valueOf("green"));
+                gc.fillRect(312, 130, 90, 80);
+                break;
+            case 6: // LEFT LEG
+                gc.setFill(Paint.valueOf("black"));
+                gc.fillRect(300 + 23, 130 + 80, 7, 90);
+                break;
+            case 7: // RIGHT LEG
+                gc.setFill(Paint.valueOf("black"));
+                gc.fillRect(300 + 83, 130 + 80, 7, 90);
+                break;
+            case 8: // LEFT ARM
+                gc.setFill(Paint.valueOf("black"));
+                gc.fillRect(210, 50 + 44, 90, 7);
+                break;
+            case 9: // RIGHT ARM
+                gc.setFill(Paint.valueOf("black"));
+                gc.fillRect(300 + 115, 50 + 44, 90, 7);
+                break;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package gui;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyEvent;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Traces how long each guess takes to reach the screen, from the moment its key event reaches the scene to the pulse
+ * in which the revealed letter or the new body part is rendered. Every traced guess is timed in these stages:
+ * <ul>
+ * <li><b>dispatch</b>, from the scene's event filter to the controller queueing the key;</li>
+ * <li><b>pulse</b>, from the scene to the pulse that takes the key off the queue, which includes the dispatch;</li>
+ * <li><b>logic</b>, the game engine deciding the guess;</li>
+ * <li><b>workspace</b>, updating the nodes of the workspace, which are rendered later in the same pulse;</li>
+ * </ul>
+ * and the latency of each stage, as well as the total, is added to a histogram kept for the whole session. Only the
+ * guesses that change the game are traced, and every stage of the same guesses, so the histograms line up; repeated
+ * and invalid keys are dropped without a trace. The
+ * histograms can be exported to a JSON file, so that the latencies of different builds can be compared.
+ * <p>
+ * When the tracer is not installed, all its methods do nothing. Everything here runs on the JavaFX application thread.
+ *
+ * @author Charles Giovanniello
+ */
+public class KeystrokeTracer {
+
+    public static final String[] STAGES = {"dispatch", "pulse", "logic", "workspace", "total"};
+
+    private static final int DISPATCH  = 0;
+    private static final int PULSE     = 1;
+    private static final int LOGIC     = 2;
+    private static final int WORKSPACE = 3;
+    private static final int TOTAL     = 4;
+
+    private static KeystrokeTracer singleton = null;
+
+    private final Histogram[] histograms   = new Histogram[STAGES.length];
+    private final long        sessionStart = System.currentTimeMillis();
+
+    private boolean installed;
+    private long    received; // when the latest key event reached the scene, or 0 if it has been queued already
+
+    private KeystrokeTracer() {
+        for (int i = 0; i < histograms.length; i++)
+            histograms[i] = new Histogram();
+    }
+
+    public static KeystrokeTracer getTracer() {
+        if (singleton == null)
+            singleton = new KeystrokeTracer();
+        return singleton;
+    }
+
+    /** Starts tracing the keys typed into the given scene. */
+    public void install(Scene scene) {
+        if (installed)
+            return;
+        installed = true;
+        scene.addEventFilter(KeyEvent.KEY_TYPED, e -> received = System.nanoTime());
+    }
+
+    public boolean isInstalled() {
+        return installed;
+    }
+
+    /**
+     * @return The time at which the latest key event reached the scene, to be queued with the key; this is simply the
+     * current time if the tracer is not installed.
+     */
+    public long keyReceived() {
+        if (!installed || received == 0)
+            return System.nanoTime();
+        long typed = received;
+        received = 0;
+        return typed;
+    }
+
+    /**
+     * Records a guess that changed the game.
+     *
+     * @param typed   The time returned by {@link #keyReceived()} for the key.
+     * @param queued  When the key was queued.
+     * @param drained When the key was taken off the queue.
+     * @param decided When the game engine had decided the guess.
+     * @param updated When the workspace had been updated.
+     */
+    public void guessApplied(long typed, long queued, long drained, long decided, long updated) {
+        if (!installed)
+            return;
+        histograms[DISPATCH].record(queued - typed);
+        histograms[PULSE].record(drained - typed);
+        histograms[LOGIC].record(decided - drained);
+        histograms[WORKSPACE].record(updated - decided);
+        histograms[TOTAL].record(updated - typed);
+    }
+
+    /** @return The histogram of one of the {@link #STAGES}. */
+    public Histogram getHistogram(String stage) {
+        for (int i = 0; i < STAGES.length; i++) {
+            if (STAGES[i].equals(stage))
+                return histograms[i];
+        }
+        throw new IllegalArgumentException(String.format("Stage \"%s\" does not exist.", stage));
+    }
+
+    /**
+     * Writes the histograms of this session to a JSON file, replacing any earlier export.
+     *
+     * @param target The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void export(Path target) throws IOException {
+        if (!installed)
+            return;
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+             JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeNumberField("sessionStart", sessionStart);
+            generator.writeNumberField("exported", System.currentTimeMillis());
+            generator.writeObjectFieldStart("stages");
+            for (int i = 0; i < STAGES.length; i++) {
+                Histogram histogram = histograms[i];
+                generator.writeObjectFieldStart(STAGES[i]);
+                generator.writeNumberField("count", histogram.getCount());
+                generator.writeNumberField("p50Us", histogram.getPercentile(0.50));
+                generator.writeNumberField("p99Us", histogram.getPercentile(0.99));
+                generator.writeNumberField("maxUs", histogram.getMax());
+                generator.writeArrayFieldStart("buckets"); // [upper bound in microseconds, count] of each bucket used
+                for (int b = 0; b < Histogram.BUCKETS; b++) {
+                    if (histogram.counts[b] > 0) {
+                        generator.writeStartArray();
+                        generator.writeNumber(Histogram.upperBound(b));
+                        generator.writeNumber(histogram.counts[b]);
+                        generator.writeEndArray();
+                    }
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * A histogram of latencies in microseconds, with four buckets to every power of two. This bounds the error of any
+     * percentile to a quarter of its value while keeping the histogram to a fixed, small array.
+     */
+    public static class Histogram {
+
+        private static final int SUB_BUCKETS = 4;
+        private static final int BUCKETS     = SUB_BUCKETS + (63 - 2) * SUB_BUCKETS;
+
+        private final long[] counts = new long[BUCKETS];
+        private       long   count;
+        private       long   max;
+
+        public void record(long nanos) {
+            long micros = Math.max(0, nanos / 1000);
+            counts[bucket(micros)]++;
+            count++;
+            max = Math.max(max, micros);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /** @return The largest latency recorded, in microseconds. */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return An upper bound, in microseconds, of the given percentile of the recorded latencies, or 0 if none
+         * has been recorded.
+         */
+        public long getPercentile(double p) {
+            long rank = Math.max(1, (long) Math.ceil(p * count));
+            long seen = 0;
+            for (int b = 0; b < BUCKETS && count > 0; b++) {
+                seen += counts[b];
+                if (seen >= rank)
+                    return Math.min(upperBound(b), max);
+            }
+            return 0;
+        }
+
+        private static int bucket(long micros) {
+            if (micros < SUB_BUCKETS)
+                return (int) micros;
+            int exponent = 63 - Long.numberOfLeadingZeros(micros); // at least 2
+            int sub      = (int) (micros >>> (exponent - 2)) & (SUB_BUCKETS - 1);
+            return SUB_BUCKETS + (exponent - 2) * SUB_BUCKETS + sub;
+        }
+
+        private static long upperBound(int bucket) {
+            if (bucket < SUB_BUCKETS)
+                return bucket;
+            int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + 2;
+            int sub      = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 2)) - 1;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package gui;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import javafx.animation.AnimationTimer;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures how smoothly the workspace is rendered. While installed, it records the interval between consecutive
+ * JavaFX pulses and the time spent in the controller's handlers. Once a second it reports the frame rate, the
+ * percentiles of the frame intervals, the number of frames dropped against a 60 Hz pulse, and the handler timings.
+ * Each report is shown in an overlay on the application pane and, if a log file is given, appended to it as one
+ * line of JSON.
+ * <p>
+ * When the monitor is not installed, {@link #begin()} and {@link #end(String, long)} do nothing, so handlers can be
+ * instrumented unconditionally. Everything here runs on the JavaFX application thread.
+ *
+ * @author Charles Giovanniello
+ */
+public class PerformanceMonitor {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long EXPECTED_INTERVAL = NANOS_PER_SECOND / 60; // the default JavaFX pulse rate
+    private static final int  CAPACITY          = 1024;                  // frame intervals kept for each report
+
+    private static PerformanceMonitor singleton = null;
+
+    private final long[]                      intervals = new long[CAPACITY]; // ring buffer of frame intervals
+    private final long[]                      sorted    = new long[CAPACITY]; // scratch space for the percentiles
+    private final Map<String, HandlerTimings> handlers  = new LinkedHashMap<>();
+
+    private boolean        installed;
+    private AnimationTimer timer;
+    private Label          overlay;
+    private JsonGenerator  log;        // the JSON lines log, or null if there is none
+    private int            next;       // where the next interval goes in the ring buffer
+    private int            count;      // the number of intervals recorded since the last report
+    private long           dropped;    // the frames dropped since the last report
+    private long           lastFrame;  // the time of the previous pulse, or 0 before the first one
+    private long           lastReport; // the time of the previous report
+
+    private PerformanceMonitor() { }
+
+    public static PerformanceMonitor getMonitor() {
+        if (singleton == null)
+            singleton = new PerformanceMonitor();
+        return singleton;
+    }
+
+    /**
+     * Starts measuring, showing the reports in an overlay on the given pane.
+     *
+     * @param pane    The pane over which the reports are shown.
+     * @param logFile The file to which the reports are appended as JSON lines, or {@code null} for none.
+     */
+    public void install(Pane pane, Path logFile) {
+        if (installed)
+            return;
+        installed = true;
+
+        overlay = new Label();
+        overlay.setManaged(false);
+        overlay.setMouseTransparent(true);
+        overlay.setStyle("-fx-background-color: rgba(0, 0, 0, 0.6); -fx-text-fill: white; -fx-padding: 4;");
+        pane.getChildren().add(overlay);
+
+        if (logFile != null) {
+            try {
+                log = new JsonFactory().createGenerator(Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                                                                                StandardOpenOption.CREATE,
+                                                                                StandardOpenOption.APPEND));
+                log.setRootValueSeparator(null);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                frame(now);
+            }
+        };
+        timer.start();
+    }
+
+    /**
+     * Stops measuring, e.g. as the application shuts down: the frames since the last report are reported, and the log
+     * is closed so that nothing written to it is lost.
+     */
+    public void uninstall() {
+        if (!installed)
+            return;
+        installed = false;
+        timer.stop();
+        if (count > 0)
+            report(lastFrame - lastReport);
+        ((Pane) overlay.getParent()).getChildren().remove(overlay);
+        lastFrame = 0;
+        count = 0;
+        dropped = 0;
+        handlers.clear();
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            log = null;
+        }
+    }
+
+    public boolean isInstalled() {
+        return installed;
+    }
+
+    /** @return The time at which a handler starts, to be passed on to {@link #end(String, long)}. */
+    public long begin() {
+        return installed ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time spent in a handler.
+     *
+     * @param handler The name of the handler.
+     * @param started The time returned by {@link #begin()} when the handler started.
+     */
+    public void end(String handler, long started) {
+        if (!installed)
+            return;
+        long           elapsed  = System.nanoTime() - started;
+        HandlerTimings timings  = handlers.get(handler);
+        if (timings == null) {
+            timings = new HandlerTimings();
+            handlers.put(handler, timings);
+        }
+        timings.count++;
+        timings.total += elapsed;
+        timings.max = Math.max(timings.max, elapsed);
+    }
+
+    private void frame(long now) {
+        if (lastFrame == 0) {
+            lastFrame = now;
+            lastReport = now;
+            return;
+        }
+        long interval = now - lastFrame;
+        lastFrame = now;
+        intervals[next] = interval;
+        next = (next + 1) % CAPACITY;
+        count = Math.min(count + 1, CAPACITY);
+        dropped += Math.max(0, Math.round((double) interval / EXPECTED_INTERVAL) - 1);
+
+        if (now - lastReport >= NANOS_PER_SECOND) {
+            report(now - lastReport);
+            lastReport = now;
+            count = 0;
+            dropped = 0;
+            handlers.clear();
+        }
+    }
+
+    private void report(long window) {
+        for (int i = 0; i < count; i++)
+            sorted[i] = intervals[(next - count + i + CAPACITY) % CAPACITY];
+        Arrays.sort(sorted, 0, count);
+        double fps = count * (double) NANOS_PER_SECOND / window;
+        double p50 = millis(percentile(0.50));
+        double p95 = millis(percentile(0.95));
+        double p99 = millis(percentile(0.99));
+        double max = millis(count == 0 ? 0 : sorted[count - 1]);
+
+        StringBuilder text = new StringBuilder(String.format(
+                "%.0f fps   frame p50 %.1f ms   p95 %.1f ms   p99 %.1f ms   max %.1f ms   dropped %d",
+                fps, p50, p95, p99, max, dropped));
+        for (Map.Entry<String, HandlerTimings> entry : handlers.entrySet()) {
+            HandlerTimings timings = entry.getValue();
+            text.append(String.format("%n%s: %d in %.2f ms (max %.2f ms)",
+                                      entry.getKey(), timings.count, millis(timings.total), millis(timings.max)));
+        }
+        overlay.setText(text.toString());
+        overlay.autosize();
+        overlay.relocate(4, overlay.getParent().getLayoutBounds().getHeight() - overlay.getHeight() - 4);
+        overlay.toFront();
+
+        if (log != null) {
+            try {
+                log.writeStartObject();
+                log.writeNumberField("time", System.currentTimeMillis());
+                log.writeNumberField("frames", count);
+                log.writeNumberField("fps", fps);
+                log.writeNumberField("p50Ms", p50);
+                log.writeNumberField("p95Ms", p95);
+                log.writeNumberField("p99Ms", p99);
+                log.writeNumberField("maxMs", max);
+                log.writeNumberField("dropped", dropped);
+                log.writeObjectFieldStart("handlers");
+                for (Map.Entry<String, HandlerTimings> entry : handlers.entrySet()) {
+                    HandlerTimings timings = entry.getValue();
+                    log.writeObjectFieldStart(entry.getKey());
+                    log.writeNumberField("count", timings.count);
+                    log.writeNumberField("totalMs", millis(timings.total));
+                    log.writeNumberField("maxMs", millis(timings.max));
+                    log.writeEndObject();
+                }
+                log.writeEndObject();
+                log.writeEndObject();
+                log.writeRaw('\n');
+                log.flush();
+            } catch (IOException e) {
+                e.printStackTrace();
+                log = null;
+            }
+        }
+    }
+
+    /** @return The given percentile of the sorted intervals, by the nearest-rank method. */
+    private long percentile(double p) {
+        if (count == 0)
+            return 0;
+        int rank = (int) Math.ceil(p * count);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static class HandlerTimings {
+        int  count;
+        long total;
+        long max;
+    }
+}
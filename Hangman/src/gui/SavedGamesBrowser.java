@@ -0,0 +1,179 @@
+package gui;
+
+import data.SavedGamesCatalog;
+import data.SavedGamesCatalog.Entry;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * A dialog to choose a saved game to load, which pages through the {@link SavedGamesCatalog} of the saved games
+ * directory. Only one page of the catalog is shown at a time, and no save is opened until one is chosen, so the dialog
+ * opens as quickly for thousands of saves as for a few. If the catalog is still being brought up to date, the dialog
+ * opens at once all the same, and shows the first page when the catalog is ready.
+ *
+ * @author Charles Giovanniello
+ */
+public class SavedGamesBrowser extends Stage {
+    // HERE'S THE SINGLETON
+    static SavedGamesBrowser singleton;
+
+    public static final int PAGE_SIZE = 25;
+
+    // CONSTANT LABELS
+    public static final String LOAD       = "Load";
+    public static final String OTHER_FILE = "Other File...";
+    public static final String CANCEL     = "Cancel";
+    public static final String PREVIOUS   = "<";
+    public static final String NEXT       = ">";
+    public static final String LOADING    = "Reading the saved games...";
+    public static final String NO_SAVES   = "No saved games";
+
+    // GUI CONTROLS FOR OUR DIALOG
+    TableView<Entry> table;
+    Label            pageLabel;
+    Button           previousButton;
+    Button           nextButton;
+    Button           loadButton;
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+    private SavedGamesCatalog      catalog;
+    private int                    page;
+    private int                    pages;
+    private Path                   selection;     // the chosen save, or null if none was chosen
+    private boolean                otherFile;     // whether the user asked to choose a file elsewhere instead
+
+    private SavedGamesBrowser() {}
+
+    public static SavedGamesBrowser getSingleton() {
+        if (singleton == null)
+            singleton = new SavedGamesBrowser();
+        return singleton;
+    }
+
+    /**
+     * This method initializes the singleton for use.
+     *
+     * @param primaryStage The window above which this dialog will be centered.
+     */
+    public void init(Stage primaryStage) {
+        initModality(Modality.WINDOW_MODAL);
+        initOwner(primaryStage);
+
+        table = new TableView<>();
+        table.getColumns().add(column("Saved Game", Entry::getFileName, 200));
+        table.getColumns().add(column("Letters", Entry::getWordLength, 70));
+        table.getColumns().add(column("Guesses Left", Entry::getRemainingGuesses, 100));
+        table.getColumns().add(column("Outcome", entry -> entry.getStatus().name().replace('_', ' '), 110));
+        table.getColumns().add(column("Saved On", entry -> dateFormat.format(new Date(entry.getModified())), 140));
+        table.setPrefHeight(400);
+        table.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && table.getSelectionModel().getSelectedItem() != null)
+                choose();
+        });
+
+        previousButton = new Button(PREVIOUS);
+        nextButton = new Button(NEXT);
+        pageLabel = new Label();
+        previousButton.setOnAction(e -> showPage(page - 1));
+        nextButton.setOnAction(e -> showPage(page + 1));
+        HBox pageBox = new HBox(10, previousButton, pageLabel, nextButton);
+        pageBox.setAlignment(Pos.CENTER);
+
+        loadButton = new Button(LOAD);
+        Button otherFileButton = new Button(OTHER_FILE);
+        Button cancelButton    = new Button(CANCEL);
+        loadButton.disableProperty().bind(table.getSelectionModel().selectedItemProperty().isNull());
+        loadButton.setOnAction(e -> choose());
+        otherFileButton.setOnAction(e -> {
+            otherFile = true;
+            hide();
+        });
+        cancelButton.setOnAction(e -> hide());
+        HBox buttonBox = new HBox(10, loadButton, otherFileButton, cancelButton);
+        buttonBox.setAlignment(Pos.CENTER_RIGHT);
+
+        VBox pane = new VBox(10, table, pageBox, buttonBox);
+        pane.setPadding(new Insets(10, 20, 20, 20));
+        setScene(new Scene(pane));
+    }
+
+    private <T> TableColumn<Entry, T> column(String heading, Function<Entry, T> value, double width) {
+        TableColumn<Entry, T> column = new TableColumn<>(heading);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        column.setSortable(false); // the catalog is paged newest first, and sorting one page would only mislead
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    /**
+     * Opens the dialog on the first page of a catalog, and waits for the user to choose a saved game.
+     *
+     * @param title   The title to appear in the dialog window bar.
+     * @param catalog The catalog of the saved games to choose from.
+     */
+    public void show(String title, SavedGamesCatalog catalog) {
+        setTitle(title);
+        this.catalog = catalog;
+        selection = null;
+        otherFile = false;
+        pages = 1;
+        page = 0;
+        table.setPlaceholder(new Label(LOADING));
+        pageLabel.setText("");
+        previousButton.setDisable(true);
+        nextButton.setDisable(true);
+        catalog.whenReady().thenAccept(ready -> Platform.runLater(() -> {
+            if (isShowing() && this.catalog == ready)
+                showCatalog();
+        }));
+        showAndWait();
+        table.getItems().clear(); // let go of the page until the next time
+    }
+
+    /** Shows the first page of the catalog, which is ready. */
+    private void showCatalog() {
+        table.setPlaceholder(new Label(NO_SAVES));
+        pages = Math.max(1, (catalog.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        showPage(0);
+    }
+
+    private void showPage(int page) {
+        this.page = Math.max(0, Math.min(page, pages - 1));
+        table.getItems().setAll(catalog.page(this.page, PAGE_SIZE));
+        table.scrollTo(0);
+        pageLabel.setText(String.format("Page %d of %d", this.page + 1, pages));
+        previousButton.setDisable(this.page == 0);
+        nextButton.setDisable(this.page == pages - 1);
+    }
+
+    private void choose() {
+        selection = catalog.getDirectory().resolve(table.getSelectionModel().getSelectedItem().getFileName());
+        hide();
+    }
+
+    /** @return The saved game the user chose, or null if they chose none. */
+    public Path getSelection() {
+        return selection;
+    }
+
+    /** @return Whether the user asked to choose a saved game from outside the catalog instead. */
+    public boolean isOtherFileRequested() {
+        return otherFile;
+    }
+}
@@ -20,13 +20,16 @@ import javafx.scene.paint.Paint;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 import propertymanager.PropertyManager;
-import sun.management.Agent;
 import ui.AppGUI;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 
 import static hangman.HangmanProperties.*;
+import static settings.AppPropertyType.KEYSTROKE_TRACE;
+import static settings.AppPropertyType.PERFORMANCE_LOG;
+import static settings.AppPropertyType.PERFORMANCE_OVERLAY;
 
 /**
  * This class serves as the GUI component for the Hangman game.
@@ -47,7 +50,8 @@ public class Workspace extends AppWorkspaceComponent {
     HBox              guessedLetters;    // text area displaying all the letters guessed so far
     HBox              wronglyGuessedLetters;
     HBox              remainingGuessBox; // container to display the number of remaining guesses
-    HBox              littleBoxes;
+    HBox              littleBoxes;       // one cell for each letter of the target word
+    ArrayList<StackPane> letterCells = new ArrayList<>(); // every cell created so far, reused from one game to the next
     Button            startGame;         // the button to start playing a game of Hangman
     Button            hintButton;         // the button to start playing a game of Hangman
     HangmanController controller;
@@ -55,17 +59,8 @@ public class Workspace extends AppWorkspaceComponent {
     GraphicsContext   gc;
     GameData          gamedata;
 
-    boolean           head;
-    boolean           lEye;
-    boolean           rEye;
-    boolean           hair;
-    boolean           lArm;
-    boolean           rArm;
-    boolean           body;
-    boolean           lLeg;
-    boolean           rLeg;
-    boolean           mouth;
-
+    BodyPartSprites   sprites;           // the pre-rendered stages of the hanging figure
+    int               stage;             // the number of body parts currently shown
 
     /**
      * Constructor for initializing the workspace, note that this constructor
@@ -81,6 +76,19 @@ public class Workspace extends AppWorkspaceComponent {
         controller = (HangmanController) gui.getFileController();    //new HangmanController(app, startGame); <-- THIS WAS A MAJOR BUG!??
         layoutGUI();     // initialize all the workspace (GUI) components including the containers and their layout
         setupHandlers(); // ... and set up event handling
+        initDiagnostics();
+    }
+
+    private void initDiagnostics() {
+        PropertyManager propertyManager = PropertyManager.getManager();
+        if (Boolean.parseBoolean(propertyManager.getPropertyValue(PERFORMANCE_OVERLAY))) {
+            Path logFile = propertyManager.hasProperty(PERFORMANCE_LOG)
+                           ? HangmanController.appDirectory().resolve(propertyManager.getPropertyValue(PERFORMANCE_LOG))
+                           : null;
+            PerformanceMonitor.getMonitor().install(gui.getAppPane(), logFile);
+        }
+        if (Boolean.parseBoolean(propertyManager.getPropertyValue(KEYSTROKE_TRACE)))
+            KeystrokeTracer.getTracer().install(gui.getPrimaryScene());
     }
 
     private void layoutGUI() {
@@ -110,10 +118,16 @@ public class Workspace extends AppWorkspaceComponent {
         //*********
 
         gameTextsPane = new VBox();
+        littleBoxes = new HBox();
+        littleBoxes.setVisible(false);
+        littleBoxes.setManaged(false);
         //canvas
         canvas = new Canvas();
         canvas.setStyle("-fx-background-color: cyan");
         gc = canvas.getGraphicsContext2D();
+        sprites = new BodyPartSprites(propertyManager.hasProperty(SPRITE_SCALE)
+                                      ? Double.parseDouble(propertyManager.getPropertyValue(SPRITE_SCALE))
+                                      : 1);
         Group root = new Group();
         root.getChildren().add(canvas);
         canvas.setWidth(gui.getPrimaryScene().getWidth());
@@ -143,44 +157,67 @@ public class Workspace extends AppWorkspaceComponent {
 
         //Add everything to workspace ***************
         workspace = new VBox();
-        workspace.getChildren().addAll(headPane, bodyPane, canvas, footToolbar);//add littleBox
+        workspace.getChildren().addAll(headPane, littleBoxes, bodyPane, canvas, footToolbar);
     }
 
+    /**
+     * Shows one cell for each letter of the target word. The cells are pooled: a new game only rebinds the text of
+     * the cells it needs and hides the others, so no nodes are created unless the target is the longest word seen so
+     * far. Each letter starts out visible, and it is up to the controller to hide the ones not yet guessed.
+     *
+     * @param app The application, whose data component holds the target word.
+     */
     public void addLittleBoxes(AppTemplate app){
-        littleBoxes = new HBox();
         gamedata = (GameData) app.getDataComponent();
-        int numBoxes = gamedata.getTargetWord().length();
+        String targetWord = gamedata.getTargetWord();
 
-        for(int i = 0; i < numBoxes; i++){
-            StackPane boxHolder = new StackPane();
+        while (letterCells.size() < targetWord.length()) {
+            StackPane boxHolder = new StackPane(new WordBox(), new Text());
+            letterCells.add(boxHolder);
             littleBoxes.getChildren().add(boxHolder);
-            WordBox box = new WordBox();
-            Text letter = new Text();
-            letter.setText(Character.toString(gamedata.getTargetWord().charAt(i)));
-            boxHolder.getChildren().addAll(box,letter);
         }
+        for (int i = 0; i < letterCells.size(); i++) {
+            StackPane boxHolder = letterCells.get(i);
+            boolean   used      = i < targetWord.length();
+            boxHolder.setVisible(used);
+            boxHolder.setManaged(used);
+            if (used) {
+                Text letter = (Text) boxHolder.getChildren().get(1);
+                letter.setText(Character.toString(targetWord.charAt(i)));
+                letter.setStyle(null);
+                letter.setVisible(true);
+            }
+        }
+        littleBoxes.setVisible(true);
+        littleBoxes.setManaged(true);
+    }
 
-
-        workspace.getChildren().add(1,littleBoxes);//add littleBoxes
-
+    /**
+     * Shows or hides the letter in one cell of the target word.
+     *
+     * @param position The position of the letter in the target word.
+     * @param visible  Whether the letter is shown.
+     */
+    public void setLetterVisible(int position, boolean visible) {
+        letterCells.get(position).getChildren().get(1).setVisible(visible);
     }
+
+    /** Shows the cells of the target word, with the letters that were not guessed revealed in red. */
     public void addLittleBoxesWrong(AppTemplate app){
-        littleBoxes = new HBox();
-        gamedata = (GameData) app.getDataComponent();
-        int numBoxes = gamedata.getTargetWord().length();
+        addLittleBoxes(app);
+        revealMissedLetters();
+    }
 
-        for(int i = 0; i < numBoxes; i++){
-            StackPane boxHolder = new StackPane();
-            littleBoxes.getChildren().add(boxHolder);
-            WordBox box = new WordBox();
-            Text letter = new Text();
-            letter.setText(Character.toString(gamedata.getTargetWord().charAt(i)));
-            boxHolder.getChildren().addAll(box,letter);
+    /** Reveals, in red, each letter of the target word that was not guessed. */
+    public void revealMissedLetters(){
+        String targetWord = gamedata.getTargetWord();
+        for (int i = 0; i < targetWord.length(); i++) {
+            Text letter = (Text) letterCells.get(i).getChildren().get(1);
+            if (!gamedata.isGoodGuess(targetWord.charAt(i))) {
+                letter.setStyle("-fx-stroke: red;");
+                letter.setVisible(true);
+            }
         }
-
-
-        workspace.getChildren().add(1,littleBoxes);//add littleBoxes
-
     }
 
 
@@ -210,133 +247,22 @@ public class Workspace extends AppWorkspaceComponent {
 
     }
     public void initBodyParts(){
-        head = false;lEye = false;rEye = false;hair = false;
-        lArm = false;rArm = false;body = false;lLeg = false;
-        rLeg = false;mouth = false;
+        stage = 0;
     }
-    public void addBodyPart(){
-
-        if(head == false) {
-            //HEAD
-            gc.setFill(Paint.valueOf("red"));
-            gc.fillRect(300, 50, 115, 80);
-            gc.beginPath();
-            gc.setStroke(Paint.valueOf("blue"));
-            gc.setLineWidth(1);
-            gc.rect(300, 50, 115, 80);
-            gc.stroke();
-            head = true;
-            return;
-        }
 
-        if(hair == false) {
-            //HAIR
-            gc.setFill(Paint.valueOf("black"));
-            gc.fillRect(300 + 5, 30, 3, 20);
-            gc.fillRect(300 + 10, 30, 3, 20);
-            gc.fillRect(300 + 15, 30, 3, 20);
-            gc.fillRect(300 + 20, 30, 3, 20);
-            gc.fillRect(300 + 25, 30, 3, 20);
-            gc.fillRect(300 + 30, 30, 3, 20);
-            gc.fillRect(300 + 35, 30, 3, 20);
-            gc.fillRect(300 + 40, 30, 3, 20);
-            gc.fillRect(300 + 45, 30, 3, 20);
-            gc.fillRect(300 + 50, 30, 3, 20);
-            gc.fillRect(300 + 55, 30, 3, 20);
-            gc.fillRect(300 + 60, 30, 3, 20);
-            gc.fillRect(300 + 65, 30, 3, 20);
-            gc.fillRect(300 + 70, 30, 3, 20);
-            gc.fillRect(300 + 75, 30, 3, 20);
-            gc.fillRect(300 + 80, 30, 3, 20);
-            gc.fillRect(300 + 85, 30, 3, 20);
-            gc.fillRect(300 + 90, 30, 3, 20);
-            gc.fillRect(300 + 95, 30, 3, 20);
-            gc.fillRect(300 + 100, 30, 3, 20);
-            gc.fillRect(300 + 105, 30, 3, 20);
-            gc.fillRect(300 + 110, 30, 3, 20);
-            gc.beginPath();
-            gc.stroke();
-            hair = true;
-            return;
-        }
-        if(lEye == false) {
-            //LEFT EYE
-            gc.setFill(Paint.valueOf("blue"));
-            gc.fillRect(300 + 15, 50 + 30, 25, 25); //left eye
-            gc.setFill(Paint.valueOf("white"));
-            gc.fillRect(300 + 23, 50 + 38, 10, 10); //left eye
-            gc.beginPath();
-            gc.stroke();
-            lEye = true;
-            return;
-        }
-        if(rEye == false) {
-            //RIGHT EYE
-            gc.setFill(Paint.valueOf("blue"));
-            gc.fillRect(300 + 75, 50 + 30, 25, 25); //right eye
-            gc.setFill(Paint.valueOf("white"));
-            gc.fillRect(300 + 83, 50 + 38, 10, 10); //right eye
-            gc.beginPath();
-            gc.stroke();
-            rEye = true;
-            return;
-        }
-        if(mouth == false) {
-            //MOUTH
-            gc.setFill(Paint.valueOf("black"));
-            gc.fillRect(300 + 12, 50 + 60, 85, 3);
-            gc.beginPath();
-            gc.stroke();
-            mouth = true;
-            return;
-        }
-        if(body == false) {
-            //BODY
-            gc.setFill(Paint.valueOf("green"));
-            gc.fillRect(312, 130, 90, 80);
-            gc.beginPath();
-            gc.setStroke(Paint.valueOf("blue"));
-            gc.stroke();
-            body = true;
-            return;
-        }
-        if(lLeg == false) {
-            //LEFT LEG
-            gc.setFill(Paint.valueOf("black"));
-            gc.fillRect(300 + 23, 130 + 80, 7, 90);
-            gc.beginPath();
-            gc.stroke();
-            lLeg = true;
-            return;
-        }
+    public void addBodyPart(){
+        if (stage < BodyPartSprites.STAGES)
+            showBodyParts(stage + 1);
+    }
 
-        if(rLeg == false) {
-            //RIGHT LEG
-            gc.setFill(Paint.valueOf("black"));
-            gc.fillRect(300 + 83, 130 + 80, 7, 90);
-            gc.beginPath();
-            gc.stroke();
-            rLeg = true;
-            return;
-        }
-        if (lArm == false) {
-            //LEFT ARM
-            gc.setFill(Paint.valueOf("black"));
-            gc.fillRect(210, 50 + 44, 90, 7);
-            gc.beginPath();
-            gc.stroke();
-            lArm = true;
-            return;
-        }
-        if(rArm == false) {
-            //RIGHT ARM
-            gc.setFill(Paint.valueOf("black"));
-            gc.fillRect(300 + 115, 50 + 44, 90, 7);
-            gc.beginPath();
-            gc.stroke();
-            rArm = true;
-            return;
-        }
+    /**
+     * Shows the figure with the given number of body parts, drawing that stage directly rather than each part in turn.
+     *
+     * @param parts The number of body parts to show.
+     */
+    public void showBodyParts(int parts){
+        stage = Math.max(0, Math.min(parts, BodyPartSprites.STAGES));
+        sprites.drawStage(gc, stage);
     }
 
     /** This function reloads the entire workspace */
@@ -364,16 +290,13 @@ public class Workspace extends AppWorkspaceComponent {
         return hintButton;
     }
 
+    /** Clears the workspace for the next game, keeping its nodes (including the pooled letter cells) for reuse. */
     public void reinitialize() {
-        guessedLetters = new HBox();
-        guessedLetters.setStyle("-fx-background-color: transparent;");
-        wronglyGuessedLetters = new HBox();
-        wronglyGuessedLetters.setStyle("-fx-background-color: transparent;");
-        workspace.getChildren().remove(littleBoxes);
-        remainingGuessBox = new HBox();
-        gameTextsPane = new VBox();
-        gameTextsPane.getChildren().setAll(remainingGuessBox, guessedLetters, wronglyGuessedLetters);
-        bodyPane.getChildren().setAll(figurePane, gameTextsPane);
+        guessedLetters.getChildren().clear();
+        wronglyGuessedLetters.getChildren().clear();
+        remainingGuessBox.getChildren().clear();
+        littleBoxes.setVisible(false);
+        littleBoxes.setManaged(false);
         gc.clearRect(0, 0, gc.getCanvas().getWidth(),gc.getCanvas().getHeight());
         initBodyParts();
     }
@@ -5,9 +5,16 @@ import components.AppComponentsBuilder;
 import components.AppDataComponent;
 import components.AppFileComponent;
 import components.AppWorkspaceComponent;
+import data.Dictionary;
 import data.GameData;
 import data.GameDataFile;
+import gui.PerformanceMonitor;
 import gui.Workspace;
+import propertymanager.PropertyManager;
+
+import static settings.AppPropertyType.WORK_FILE_BINARY_EXT_DESC;
+import static settings.AppPropertyType.WORK_FILE_COMPRESSED_EXT_DESC;
+import static settings.AppPropertyType.WORK_FILE_EXT_DESC;
 
 /**
  * @author Ritwik Banerjee
@@ -22,6 +29,17 @@ public class Hangman extends AppTemplate {
         return "HangmanController";
     }
 
+    /** Closes the performance log, if any, when the last window is closed rather than through the exit button. */
+    @Override
+    public void stop() {
+        PerformanceMonitor.getMonitor().uninstall();
+    }
+
+    @Override
+    public Runnable makeWarmUpHook() {
+        return Dictionary::warmUp;
+    }
+
     @Override
     public AppComponentsBuilder makeAppBuilderHook() {
         return new AppComponentsBuilder() {
@@ -32,7 +50,10 @@ public class Hangman extends AppTemplate {
 
             @Override
             public AppFileComponent buildFileComponent() throws Exception {
-                return new GameDataFile();
+                PropertyManager propertyManager = PropertyManager.getManager();
+                return new GameDataFile(propertyManager.getPropertyValue(WORK_FILE_EXT_DESC),
+                                        propertyManager.getPropertyValue(WORK_FILE_BINARY_EXT_DESC),
+                                        propertyManager.getPropertyValue(WORK_FILE_COMPRESSED_EXT_DESC));
             }
 
             @Override
@@ -10,5 +10,11 @@ public enum HangmanProperties {
     SEGMENTED_BUTTON_BAR,
     FIRST_TOOLBAR_BUTTON,
     LAST_TOOLBAR_BUTTON,
-    HEADING_LABEL;
+    HEADING_LABEL,
+    GAME_DIFFICULTY,
+    SPRITE_SCALE,
+    AUTOSAVE_INTERVAL,
+    AUTOSAVE_FILE,
+    EXIT_ANYWAY_TITLE,
+    EXIT_ANYWAY_MESSAGE;
 }
@@ -0,0 +1,103 @@
+package controller;
+
+import data.GameEngine;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the CPU time and the allocation on the JavaFX application thread per pulse, first with a timer that does
+ * what the game's timer used to do on every pulse (update the three toolbar buttons, install a new key handler on the
+ * scene, and check whether the game is over), then with a single key handler installed once and nothing done between
+ * keystrokes. Each phase runs for {@value #PULSES} pulses after {@value #WARM_UP} pulses of warm-up, in a window of
+ * the size of the game's, and both are measured the same way, so their difference is the cost of the per-pulse work.
+ * <p>
+ * This needs a display, and a HotSpot runtime for the per-thread allocation counter.
+ *
+ * @author Charles Giovanniello
+ */
+public class PulseCostBenchmark extends Application {
+
+    private static final int PULSES  = 1200; // about 20 seconds at 60 Hz
+    private static final int WARM_UP = 300;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Scene      scene;
+    private Button     saveButton;
+    private Button     newButton;
+    private Button     exitButton;
+    private GameEngine engine;
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        saveButton = new Button("Save");
+        newButton = new Button("New");
+        exitButton = new Button("Exit");
+        scene = new Scene(new HBox(newButton, saveButton, exitButton), 800, 600);
+        stage.setScene(scene);
+        stage.show();
+
+        engine = new GameEngine();
+        engine.newGame("hangman");
+        measure("per-pulse handler (before)", this::perPulseWork, () -> {
+            scene.setOnKeyTyped(this::handleKeyTyped);
+            measure("single handler (after)", () -> { }, Platform::exit);
+        });
+    }
+
+    /** The work the game's timer used to do on every pulse. */
+    private void perPulseWork() {
+        saveButton.setDisable(false);
+        newButton.setDisable(false);
+        exitButton.setDisable(false);
+        scene.setOnKeyTyped((KeyEvent event) -> engine.guess(event.getCharacter().charAt(0)));
+        if (engine.isOver())
+            engine.newGame("hangman");
+    }
+
+    private void handleKeyTyped(KeyEvent event) {
+        engine.guess(event.getCharacter().charAt(0));
+    }
+
+    /**
+     * Runs a phase: does the given work on every pulse, and reports the average CPU time and allocation of the
+     * application thread between one pulse and the next.
+     */
+    private void measure(String phase, Runnable work, Runnable then) {
+        new AnimationTimer() {
+            private final long thread = Thread.currentThread().getId();
+            private int        pulses;
+            private long       startCpu;
+            private long       startBytes;
+
+            @Override
+            public void handle(long now) {
+                work.run();
+                if (++pulses == WARM_UP) {
+                    startCpu = threads.getThreadCpuTime(thread);
+                    startBytes = threads.getThreadAllocatedBytes(thread);
+                } else if (pulses == WARM_UP + PULSES) {
+                    long cpu   = threads.getThreadCpuTime(thread) - startCpu;
+                    long bytes = threads.getThreadAllocatedBytes(thread) - startBytes;
+                    System.out.printf("%s: %.1f us CPU, %d bytes allocated per pulse%n", phase,
+                                      cpu / 1e3 / PULSES, bytes / PULSES);
+                    stop();
+                    then.run();
+                }
+            }
+        }.start();
+    }
+}
@@ -0,0 +1,28 @@
+package data;
+
+import components.AppFileCodecRegistry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Runs {@link AppFileCodecRegistry#benchmark(Object, int)} over the save formats of the game, on a saved game. The
+ * sample may be a save in any format, and is by default one of the saves that ship with the game.
+ * <p>
+ * Usage: {@code CodecBenchmark [saved game] [iterations]}, from the Hangman directory by default.
+ *
+ * @author Charles Giovanniello
+ */
+public class CodecBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        Path         sample     = Paths.get(args.length > 0 ? args[0] : "saved/Trynitout.json");
+        int          iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        GameDataFile file       = new GameDataFile("Game File", "Compact Game File", "Compressed Game File");
+
+        System.out.printf("%s, %,d iterations%n", sample.getFileName(), iterations);
+        for (AppFileCodecRegistry.Benchmark result : file.getCodecs().benchmark(file.read(sample), iterations))
+            System.out.println("  " + result);
+    }
+}
@@ -0,0 +1,127 @@
+package data;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Charles Giovanniello
+ */
+public class DictionaryCompilerTest {
+
+    private static final byte[] SOURCE =
+            "apple\r\nand/or\nbanana\n\ncan't\napple\nCherry\nfig\nkiwi".getBytes(ISO_8859_1);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void compileKeepsOnlyPlayableWordsOnce() {
+        WordArena words = DictionaryCompiler.compile(SOURCE);
+
+        assertEquals(4, words.size());
+        assertEquals("apple", words.get(0));
+        assertEquals("banana", words.get(1));
+        assertEquals("fig", words.get(2));
+        assertEquals("kiwi", words.get(3));
+    }
+
+    @Test
+    public void compiledPathReplacesTheTextExtension() {
+        assertEquals("words.bin", DictionaryCompiler.compiledPath(folder.getRoot().toPath().resolve("words.txt"))
+                                                   .getFileName().toString());
+    }
+
+    @Test
+    public void compiledDictionaryReadsBackUnchanged() throws IOException {
+        WordIndex index    = new WordIndex(DictionaryCompiler.compile(SOURCE));
+        Path      compiled = compile(SOURCE);
+        WordIndex read     = DictionaryCompiler.read(compiled, DictionaryCompiler.checksum(SOURCE));
+
+        assertNotNull(read);
+        assertArrayEquals(index.getWords().getLetters(), read.getWords().getLetters());
+        assertArrayEquals(index.getWords().getOffsets(), read.getWords().getOffsets());
+        assertArrayEquals(index.getStarts(), read.getStarts());
+        assertArrayEquals(index.getOrder(), read.getOrder());
+        assertEquals(index.getMaxLength(), read.getMaxLength());
+        assertEquals(index.count(0, 5, 2, 3), read.count(0, 5, 2, 3));
+    }
+
+    @Test
+    public void emptyDictionaryReadsBack() throws IOException {
+        byte[]    source = "and/or\n".getBytes(ISO_8859_1);
+        WordIndex read   = DictionaryCompiler.read(compile(source), DictionaryCompiler.checksum(source));
+
+        assertNotNull(read);
+        assertEquals(0, read.getWords().size());
+    }
+
+    @Test
+    public void missingOrOutOfDateDictionaryIsACacheMiss() throws IOException {
+        Path compiled = compile(SOURCE);
+
+        assertNull(DictionaryCompiler.read(folder.getRoot().toPath().resolve("missing.bin"), 0));
+        assertNull(DictionaryCompiler.read(compiled, DictionaryCompiler.checksum(SOURCE) + 1));
+    }
+
+    @Test
+    public void otherVersionIsACacheMiss() throws IOException {
+        Path   compiled = compile(SOURCE);
+        byte[] contents = Files.readAllBytes(compiled);
+        ByteBuffer.wrap(contents).putInt(4, DictionaryCompiler.VERSION + 1);
+        Files.write(compiled, contents);
+
+        assertNull(DictionaryCompiler.read(compiled, DictionaryCompiler.checksum(SOURCE)));
+    }
+
+    @Test
+    public void truncatedOrExtendedDictionaryIsACacheMiss() throws IOException {
+        Path   compiled = compile(SOURCE);
+        byte[] contents = Files.readAllBytes(compiled);
+        long   checksum = DictionaryCompiler.checksum(SOURCE);
+
+        for (int length = 0; length < contents.length; length++) {
+            Files.write(compiled, Arrays.copyOf(contents, length));
+            assertNull("truncated to " + length, DictionaryCompiler.read(compiled, checksum));
+        }
+        Files.write(compiled, Arrays.copyOf(contents, contents.length + 1));
+        assertNull(DictionaryCompiler.read(compiled, checksum));
+    }
+
+    @Test
+    public void damagedDictionaryIsACacheMiss() throws IOException {
+        Path   compiled = compile(SOURCE);
+        byte[] contents = Files.readAllBytes(compiled);
+        long   checksum = DictionaryCompiler.checksum(SOURCE);
+        Random random   = new Random(4);
+
+        // each byte after the checksum has its top bit flipped, so no letter, count, offset or index entry stays valid
+        for (int position = 16; position < contents.length; position++) {
+            byte[] damaged = contents.clone();
+            damaged[position] ^= (byte) (0x80 | random.nextInt(0x80));
+            Files.write(compiled, damaged);
+            assertNull("damaged at " + position, DictionaryCompiler.read(compiled, checksum));
+        }
+    }
+
+    /** @return A dictionary compiled from the given source, as the application would write it. */
+    private Path compile(byte[] source) throws IOException {
+        Path compiled = folder.getRoot().toPath().resolve("words.bin");
+        DictionaryCompiler.write(compiled, DictionaryCompiler.checksum(source),
+                                 new WordIndex(DictionaryCompiler.compile(source)));
+        return compiled;
+    }
+}
@@ -0,0 +1,190 @@
+package data;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Charles Giovanniello
+ */
+public class GameEngineTest {
+
+    @Test
+    public void engineStartsWithoutAGame() {
+        GameEngine engine = new GameEngine();
+
+        assertEquals(GameEngine.Status.NOT_STARTED, engine.getStatus());
+        assertEquals(GameEngine.Guess.INVALID, engine.guess('a'));
+        assertEquals(GameEngine.DEFAULT_GUESSES_ALLOWED, engine.getRemainingGuesses());
+        assertEquals('\0', engine.hint());
+    }
+
+    @Test
+    public void goodGuessRevealsEveryOccurrence() {
+        GameEngine engine = new GameEngine();
+        engine.newGame("banana");
+
+        assertEquals(GameEngine.Guess.GOOD, engine.guess('a'));
+        assertEquals(3, engine.getDiscovered());
+        assertArrayEquals(new int[]{1, 3, 5}, engine.getPositions('a'));
+        assertTrue(engine.isGoodGuess('a'));
+        assertEquals(GameEngine.DEFAULT_GUESSES_ALLOWED, engine.getRemainingGuesses());
+        assertEquals(GameEngine.Status.IN_PROGRESS, engine.getStatus());
+    }
+
+    @Test
+    public void badGuessCostsAGuess() {
+        GameEngine engine = new GameEngine();
+        engine.newGame("banana");
+
+        assertEquals(GameEngine.Guess.BAD, engine.guess('z'));
+        assertEquals(GameEngine.DEFAULT_GUESSES_ALLOWED - 1, engine.getRemainingGuesses());
+        assertTrue(engine.getBadGuesses().contains('z'));
+        assertFalse(engine.isGoodGuess('z'));
+    }
+
+    @Test
+    public void repeatedAndInvalidGuessesChangeNothing() {
+        GameEngine engine = new GameEngine();
+        engine.newGame("banana");
+        engine.guess('a');
+        engine.guess('z');
+
+        assertEquals(GameEngine.Guess.REPEATED, engine.guess('a'));
+        assertEquals(GameEngine.Guess.REPEATED, engine.guess('z'));
+        assertEquals(GameEngine.Guess.INVALID, engine.guess('1'));
+        assertEquals(GameEngine.Guess.INVALID, engine.guess(' '));
+        assertEquals(3, engine.getDiscovered());
+        assertEquals(GameEngine.DEFAULT_GUESSES_ALLOWED - 1, engine.getRemainingGuesses());
+    }
+
+    @Test
+    public void guessingEveryLetterWins() {
+        GameEngine engine = new GameEngine();
+        engine.newGame("banana");
+        engine.guess('b');
+        engine.guess('a');
+        engine.guess('n');
+
+        assertTrue(engine.isWon());
+        assertTrue(engine.isOver());
+        assertEquals(GameEngine.Guess.INVALID, engine.guess('q'));
+    }
+
+    @Test
+    public void runningOutOfGuessesLoses() {
+        GameEngine engine = new GameEngine(3);
+        engine.newGame("banana");
+        engine.guess('x');
+        engine.guess('y');
+        assertFalse(engine.isOver());
+        engine.guess('z');
+
+        assertTrue(engine.isLost());
+        assertEquals(0, engine.getRemainingGuesses());
+        assertEquals(GameEngine.Guess.INVALID, engine.guess('a'));
+    }
+
+    @Test
+    public void hintIsTheFirstLetterNotYetRevealed() {
+        GameEngine engine = new GameEngine();
+        engine.newGame("banana");
+        assertEquals('b', engine.hint());
+        engine.guess('b');
+        engine.guess('a');
+        assertEquals('n', engine.hint());
+        engine.guess('n');
+        assertEquals('\0', engine.hint());
+    }
+
+    @Test
+    public void newGameDiscardsThePreviousOne() {
+        GameEngine engine = new GameEngine();
+        engine.newGame("banana");
+        engine.guess('a');
+        engine.guess('z');
+        engine.newGame("kiwi");
+
+        assertTrue(engine.getGoodGuesses().isEmpty());
+        assertTrue(engine.getBadGuesses().isEmpty());
+        assertEquals(0, engine.getDiscovered());
+        assertEquals(GameEngine.DEFAULT_GUESSES_ALLOWED, engine.getRemainingGuesses());
+        assertEquals("kiwi", engine.getTargetWord());
+    }
+
+    @Test
+    public void snapshotIsAnIndependentCopy() {
+        GameEngine engine = new GameEngine();
+        engine.newGame("banana");
+        engine.guess('a');
+        engine.guess('z');
+        GameEngine.Snapshot snapshot = engine.snapshot();
+        engine.guess('b');
+        engine.guess('q');
+
+        assertEquals("banana", snapshot.getTargetWord());
+        assertEquals(Collections.singleton('a'), snapshot.getGoodGuesses());
+        assertEquals(Collections.singleton('z'), snapshot.getBadGuesses());
+        assertEquals(GameEngine.DEFAULT_GUESSES_ALLOWED - 1, snapshot.getRemainingGuesses());
+        assertEquals(GameEngine.Status.IN_PROGRESS, snapshot.getStatus());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotCannotBeModified() {
+        GameEngine engine = new GameEngine();
+        engine.newGame("banana");
+        engine.snapshot().getGoodGuesses().add('a');
+    }
+
+    @Test
+    public void restoreReplacesTheGame() {
+        GameEngine saved = new GameEngine();
+        saved.newGame("banana");
+        saved.guess('n');
+        saved.guess('x');
+        saved.guess('y');
+
+        GameEngine engine = new GameEngine();
+        engine.newGame("kiwi");
+        engine.guess('k');
+        engine.restore(saved.snapshot());
+
+        assertEquals("banana", engine.getTargetWord());
+        assertEquals(new HashSet<>(Collections.singleton('n')), engine.getGoodGuesses());
+        assertEquals(new HashSet<>(Arrays.asList('x', 'y')), engine.getBadGuesses());
+        assertEquals(2, engine.getDiscovered());
+        assertEquals(GameEngine.DEFAULT_GUESSES_ALLOWED - 2, engine.getRemainingGuesses());
+        assertEquals(GameEngine.Guess.GOOD, engine.guess('a'));
+    }
+
+    @Test
+    public void restoredGameKeepsItsOutcome() {
+        GameEngine saved = new GameEngine();
+        saved.newGame("ab");
+        saved.guess('a');
+        saved.guess('b');
+
+        GameEngine engine = new GameEngine();
+        engine.restore(saved.snapshot());
+
+        assertTrue(engine.isWon());
+    }
+
+    @Test
+    public void validGuessesAreTheKeysAPlayerCanType() {
+        assertTrue(GameEngine.isValidGuess('a'));
+        assertTrue(GameEngine.isValidGuess('z'));
+        assertTrue(GameEngine.isValidGuess('A'));
+        assertTrue(GameEngine.isValidGuess('Z'));
+        assertFalse(GameEngine.isValidGuess('0'));
+        assertFalse(GameEngine.isValidGuess('{'));
+        assertFalse(GameEngine.isValidGuess('@'));
+    }
+}
@@ -0,0 +1,177 @@
+package data;
+
+import components.AppFileCodec;
+import components.AppFileCodecRegistry;
+import javafx.stage.FileChooser.ExtensionFilter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Charles Giovanniello
+ */
+public class GameFileCodecsTest {
+
+    private static final Path JSON       = Paths.get("game.json");
+    private static final Path BINARY     = Paths.get("game.hmg");
+    private static final Path COMPRESSED = Paths.get("game.json.gz");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final GameDataFile                              file   = new GameDataFile("Game File", "Compact Game File",
+                                                                                      "Compressed Game File");
+    private final AppFileCodecRegistry<GameEngine.Snapshot> codecs = file.getCodecs();
+
+    private static GameEngine.Snapshot game() {
+        GameEngine engine = new GameEngine(GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED);
+        engine.newGame("diplonts");
+        for (char c : "sdiareufhy".toCharArray())
+            engine.guess(c);
+        return engine.snapshot();
+    }
+
+    private static void assertSameGame(GameEngine.Snapshot expected, GameEngine.Snapshot actual) {
+        assertEquals(expected.getTargetWord(), actual.getTargetWord());
+        assertEquals(expected.getGoodGuesses(), actual.getGoodGuesses());
+        assertEquals(expected.getBadGuesses(), actual.getBadGuesses());
+        assertEquals(expected.getRemainingGuesses(), actual.getRemainingGuesses());
+        assertEquals(expected.getStatus(), actual.getStatus());
+    }
+
+    private static byte[] encode(AppFileCodec<GameEngine.Snapshot> codec, GameEngine.Snapshot game) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(game, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void everyCodecRoundTripsAGame() throws IOException {
+        GameEngine.Snapshot game = game();
+        for (AppFileCodec<GameEngine.Snapshot> codec : codecs.getCodecs())
+            assertSameGame(game, codec.decode(new ByteArrayInputStream(encode(codec, game))));
+    }
+
+    @Test
+    public void guessesBeyondAsciiRoundTrip() throws IOException {
+        GameEngine engine = new GameEngine(GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED);
+        engine.newGame("caf\u00e9");
+        engine.addGoodGuess('\u00e9');
+        engine.addBadGuess('\u00f1');
+        GameEngine.Snapshot game = engine.snapshot();
+        for (AppFileCodec<GameEngine.Snapshot> codec : codecs.getCodecs())
+            assertSameGame(game, codec.decode(new ByteArrayInputStream(encode(codec, game))));
+    }
+
+    @Test
+    public void jsonIsTheDefault() {
+        assertSame(codecs.forFile(JSON), codecs.getDefault());
+        assertSame(codecs.getDefault(), codecs.selectForWriting(Paths.get("game")));
+        assertSame(codecs.getDefault(), codecs.selectForWriting(Paths.get("game.txt")));
+    }
+
+    @Test
+    public void writingGoesByTheLongestMatchingExtension() {
+        assertEquals(JsonGameCodec.NAME, codecs.selectForWriting(JSON).getName());
+        assertEquals(BinaryGameCodec.NAME, codecs.selectForWriting(BINARY).getName());
+        assertEquals(JsonGameCodec.NAME + "+gzip", codecs.selectForWriting(COMPRESSED).getName());
+        assertEquals(BinaryGameCodec.NAME, codecs.selectForWriting(Paths.get("GAME.HMG")).getName());
+    }
+
+    @Test
+    public void readingGoesByTheMagicBytesWhateverTheName() throws IOException {
+        GameEngine.Snapshot game = game();
+        for (AppFileCodec<GameEngine.Snapshot> codec : codecs.getCodecs()) {
+            if (codec.getMagic().length == 0)
+                continue;
+            byte[] contents = encode(codec, game);
+            for (Path name : Arrays.asList(JSON, BINARY, COMPRESSED, Paths.get("game")))
+                assertSame(name.toString(), codec, codecs.selectForReading(name, contents));
+        }
+    }
+
+    @Test
+    public void readingFallsBackOnTheNameAndThenTheDefault() throws IOException {
+        byte[] json = encode(codecs.getDefault(), game());
+
+        assertSame(codecs.forFile(BINARY), codecs.selectForReading(BINARY, json));
+        assertSame(codecs.getDefault(), codecs.selectForReading(Paths.get("game"), json));
+        assertSame(codecs.getDefault(), codecs.selectForReading(JSON, new byte[0]));
+    }
+
+    @Test
+    public void savesLoadWhateverTheirName() throws IOException {
+        GameEngine.Snapshot game = game();
+        for (Path name : Arrays.asList(JSON, BINARY, COMPRESSED)) {
+            Path saved   = folder.getRoot().toPath().resolve(name);
+            Path renamed = saved.resolveSibling("renamed-" + name + ".json");
+            file.write(game, saved);
+            Files.copy(saved, renamed);
+
+            assertSameGame(game, file.read(saved));
+            assertSameGame(game, file.read(renamed));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedBinarySaveFails() throws IOException {
+        AppFileCodec<GameEngine.Snapshot> binary   = codecs.forFile(BINARY);
+        byte[]                            contents = encode(binary, game());
+        binary.decode(new ByteArrayInputStream(Arrays.copyOf(contents, contents.length - 1)));
+    }
+
+    @Test(expected = IOException.class)
+    public void overlongWordIsNotSavedInBinary() throws IOException {
+        char[] word = new char[0x10000];
+        Arrays.fill(word, 'a');
+        GameEngine engine = new GameEngine(GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED);
+        engine.newGame(new String(word));
+        encode(codecs.forFile(BINARY), engine.snapshot());
+    }
+
+    @Test
+    public void saveNamesAreThoseOfSomeFormat() {
+        assertTrue(file.isSaveName(JSON));
+        assertTrue(file.isSaveName(COMPRESSED));
+        assertFalse(file.isSaveName(Paths.get("catalog.idx")));
+    }
+
+    @Test
+    public void defaultExtensionIsAddedOnlyWhenNoneMatches() {
+        assertEquals(JSON, codecs.withDefaultExtension(Paths.get("game")));
+        assertEquals(Paths.get("game.txt.json"), codecs.withDefaultExtension(Paths.get("game.txt")));
+        assertEquals(BINARY, codecs.withDefaultExtension(BINARY));
+        assertEquals(COMPRESSED, codecs.withDefaultExtension(COMPRESSED));
+    }
+
+    @Test
+    public void extensionFiltersFollowTheRegistrationOrder() {
+        List<ExtensionFilter> filters = codecs.extensionFilters();
+
+        assertEquals(3, filters.size());
+        assertEquals("Game File (*.json)", filters.get(0).getDescription());
+        assertEquals(Collections.singletonList("*.json"), filters.get(0).getExtensions());
+        assertEquals("Compact Game File (*.hmg)", filters.get(1).getDescription());
+        assertEquals("Compressed Game File (*.json.gz)", filters.get(2).getDescription());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void codecNamesAreUnique() {
+        codecs.register(new JsonGameCodec("Another Game File"));
+    }
+}
@@ -0,0 +1,97 @@
+package data;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Times the work done for each keystroke of a game, with the guesses kept in a {@code HashSet<Character>} and in a
+ * {@link GuessSet}: the check for a repeated guess, the loop that reveals the matching letters of the target, and the
+ * addition of the guess. The keystrokes are random lowercase letters against random words of the dictionary, with
+ * both sets cleared whenever a game would have ended.
+ * <p>
+ * Usage: {@code GuessBenchmark [keystrokes per round] [rounds]}, from the Hangman directory.
+ *
+ * @author Charles Giovanniello
+ */
+public class GuessBenchmark {
+
+    private static final int GAME_LENGTH = 20; // keystrokes per simulated game
+
+    public static void main(String[] args) throws Exception {
+        int      keystrokes = args.length > 0 ? Integer.parseInt(args[0]) : 80_000_000;
+        int      rounds     = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Random   random     = new Random(219);
+        String[] targets    = new String[1024];
+        for (int i = 0; i < targets.length; i++)
+            targets[i] = Dictionary.getDictionary().randomWord();
+        char[] keys = new char[1 << 16];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = (char) ('a' + random.nextInt(26));
+
+        for (int round = 1; round <= rounds; round++) {
+            long   start     = System.nanoTime();
+            long   revealed  = hashSet(targets, keys, keystrokes);
+            double hashNanos = (System.nanoTime() - start) / (double) keystrokes;
+
+            start = System.nanoTime();
+            long   checked   = guessSet(targets, keys, keystrokes);
+            double bitsNanos = (System.nanoTime() - start) / (double) keystrokes;
+
+            if (revealed != checked)
+                throw new IllegalStateException("The two sets revealed different letters.");
+            System.out.printf("round %d: HashSet<Character> %.1f ns/keystroke, GuessSet %.1f ns/keystroke%n",
+                              round, hashNanos, bitsNanos);
+        }
+    }
+
+    private static long hashSet(String[] targets, char[] keys, int keystrokes) {
+        Set<Character> good     = new HashSet<>();
+        Set<Character> bad      = new HashSet<>();
+        long           revealed = 0;
+        for (int i = 0; i < keystrokes; i++) {
+            if (i % GAME_LENGTH == 0) {
+                good.clear();
+                bad.clear();
+            }
+            String target = targets[(i / GAME_LENGTH) & (targets.length - 1)];
+            char   c      = keys[i & (keys.length - 1)];
+            if (good.contains(c) || bad.contains(c))
+                continue;
+            boolean found = false;
+            for (int j = 0; j < target.length(); j++) {
+                if (target.charAt(j) == c) {
+                    revealed++;
+                    found = true;
+                }
+            }
+            (found ? good : bad).add(c);
+        }
+        return revealed;
+    }
+
+    private static long guessSet(String[] targets, char[] keys, int keystrokes) {
+        GuessSet good     = new GuessSet();
+        GuessSet bad      = new GuessSet();
+        long     revealed = 0;
+        for (int i = 0; i < keystrokes; i++) {
+            if (i % GAME_LENGTH == 0) {
+                good.clear();
+                bad.clear();
+            }
+            String target = targets[(i / GAME_LENGTH) & (targets.length - 1)];
+            char   c      = keys[i & (keys.length - 1)];
+            if (good.contains(c) || bad.contains(c))
+                continue;
+            boolean found = false;
+            for (int j = 0; j < target.length(); j++) {
+                if (target.charAt(j) == c) {
+                    revealed++;
+                    found = true;
+                }
+            }
+            (found ? good : bad).add(c);
+        }
+        return revealed;
+    }
+}
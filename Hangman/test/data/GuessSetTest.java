@@ -0,0 +1,127 @@
+package data;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Charles Giovanniello
+ */
+public class GuessSetTest {
+
+    @Test
+    public void addsEachCharacterOnce() {
+        GuessSet guesses = new GuessSet();
+
+        assertTrue(guesses.isEmpty());
+        assertTrue(guesses.add('a'));
+        assertFalse(guesses.add('a'));
+        assertTrue(guesses.add('Z'));
+        assertTrue(guesses.contains('a'));
+        assertTrue(guesses.contains('Z'));
+        assertFalse(guesses.contains('b'));
+        assertEquals(2, guesses.size());
+    }
+
+    @Test
+    public void coversTheWholeAsciiRangeAndBeyond() {
+        GuessSet guesses = new GuessSet();
+        char[]   edges   = {'\0', '?', '@', '\u007f', '\u0080', '\u00e9', '\uffff'};
+        for (char c : edges)
+            assertTrue(guesses.add(c));
+        for (char c : edges)
+            assertTrue(guesses.contains(c));
+        assertEquals(edges.length, guesses.size());
+
+        for (char c : edges)
+            assertTrue(guesses.remove(c));
+        assertTrue(guesses.isEmpty());
+        assertFalse(guesses.remove('\u00e9'));
+    }
+
+    @Test
+    public void behavesAsASetOfCharacters() {
+        GuessSet       guesses = new GuessSet(Arrays.asList('c', 'a', '\u00e9', 'b'));
+        Set<Character> same    = new HashSet<>(Arrays.asList('a', 'b', 'c', '\u00e9'));
+
+        assertEquals(same, guesses);
+        assertEquals(guesses, same);
+        assertEquals(same.hashCode(), guesses.hashCode());
+        assertTrue(guesses.contains((Object) 'a'));
+        assertFalse(guesses.contains("a"));
+        assertTrue(guesses.remove((Object) 'b'));
+        assertFalse(guesses.remove("c"));
+        assertEquals(3, guesses.size());
+    }
+
+    @Test
+    public void iteratesInCharacterOrder() {
+        GuessSet            guesses  = new GuessSet(Arrays.asList('z', '\u00e9', 'A', 'm', '!'));
+        Iterator<Character> iterator = guesses.iterator();
+
+        assertEquals(Character.valueOf('!'), iterator.next());
+        assertEquals(Character.valueOf('A'), iterator.next());
+        assertEquals(Character.valueOf('m'), iterator.next());
+        iterator.remove();
+        assertEquals(Character.valueOf('z'), iterator.next());
+        assertEquals(Character.valueOf('\u00e9'), iterator.next());
+        assertFalse(iterator.hasNext());
+        assertFalse(guesses.contains('m'));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void iteratorStopsAtTheEnd() {
+        new GuessSet().iterator().next();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void iteratorRemovesOnlyAfterNext() {
+        new GuessSet(Arrays.asList('a')).iterator().remove();
+    }
+
+    @Test
+    public void walksWithoutBoxing() {
+        GuessSet      guesses = new GuessSet(Arrays.asList('a', '?', '\u00e9', 'q'));
+        StringBuilder walked  = new StringBuilder();
+        for (int c = guesses.next(0); c >= 0; c = guesses.next(c + 1))
+            walked.append((char) c);
+
+        assertEquals("?aq\u00e9", walked.toString());
+        assertEquals(-1, new GuessSet().next(0));
+    }
+
+    @Test
+    public void lowercaseMaskHasOneBitPerLetter() {
+        GuessSet guesses = new GuessSet(Arrays.asList('a', 'c', 'z', 'A', '{'));
+
+        assertEquals(1 | 1 << 2 | 1 << 25, guesses.lowercaseMask());
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        GuessSet original = new GuessSet(Arrays.asList('a', '\u00e9'));
+        GuessSet copy     = new GuessSet(original);
+        copy.add('b');
+        copy.remove('\u00e9');
+
+        assertEquals(new HashSet<>(Arrays.asList('a', '\u00e9')), original);
+        assertEquals(new HashSet<>(Arrays.asList('a', 'b')), copy);
+    }
+
+    @Test
+    public void clearEmptiesTheSet() {
+        GuessSet guesses = new GuessSet(Arrays.asList('a', 'Z', '\u00e9'));
+        guesses.clear();
+
+        assertTrue(guesses.isEmpty());
+        assertFalse(guesses.contains('\u00e9'));
+    }
+}
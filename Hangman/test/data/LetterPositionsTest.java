@@ -0,0 +1,59 @@
+package data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Charles Giovanniello
+ */
+public class LetterPositionsTest {
+
+    @Test
+    public void listsEveryPositionOfALetterInOrder() {
+        LetterPositions positions = new LetterPositions("mississippi");
+
+        assertArrayEquals(new int[]{0}, positions.of('m'));
+        assertArrayEquals(new int[]{1, 4, 7, 10}, positions.of('i'));
+        assertArrayEquals(new int[]{2, 3, 5, 6}, positions.of('s'));
+        assertArrayEquals(new int[]{8, 9}, positions.of('p'));
+    }
+
+    @Test
+    public void missingLettersHaveNoPositions() {
+        LetterPositions positions = new LetterPositions("hangman");
+
+        assertEquals(0, positions.of('z').length);
+        assertEquals(0, positions.of('H').length);
+        assertFalse(positions.contains('z'));
+        assertTrue(positions.contains('g'));
+        assertSame(positions.of('x'), positions.of('y'));
+    }
+
+    @Test
+    public void phrasesKeepTheirSpacesAndPunctuation() {
+        LetterPositions positions = new LetterPositions("a b-a");
+
+        assertArrayEquals(new int[]{1}, positions.of(' '));
+        assertArrayEquals(new int[]{3}, positions.of('-'));
+        assertArrayEquals(new int[]{0, 4}, positions.of('a'));
+    }
+
+    @Test
+    public void charactersBeyondAsciiAreFound() {
+        LetterPositions positions = new LetterPositions("\u00e9t\u00e9");
+
+        assertArrayEquals(new int[]{0, 2}, positions.of('\u00e9'));
+        assertTrue(positions.contains('\u00e9'));
+        assertFalse(positions.contains('\u00e8'));
+    }
+
+    @Test
+    public void emptyWordHasNoLetters() {
+        assertFalse(new LetterPositions("").contains('a'));
+    }
+}
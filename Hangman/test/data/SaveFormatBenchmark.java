@@ -0,0 +1,98 @@
+package data;
+
+import components.AppFileCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JSON and the compact binary save formats on every JSON save in a directory: the size of each save in
+ * either format, the time to encode and decode it in memory, and the time to save and load it through the file system
+ * as the application does. Every time is the best of {@value #RUNS} runs of {@value #ITERATIONS} iterations each, taken
+ * after a first, untimed pass over all the saves.
+ * <p>
+ * Usage: {@code SaveFormatBenchmark [directory of saves]}, from the Hangman directory by default.
+ *
+ * @author Charles Giovanniello
+ */
+public class SaveFormatBenchmark {
+
+    private static final int RUNS       = 5;
+    private static final int ITERATIONS = 20_000;
+
+    public static void main(String[] args) throws IOException {
+        Path                           saves     = Paths.get(args.length > 0 ? args[0] : "saved");
+        GameDataFile                   file      = new GameDataFile("Game File", "Compact Game File",
+                                                                    "Compressed Game File");
+        Map<Path, GameEngine.Snapshot> games     = new TreeMap<>(); // by file name
+        Path                           temporary = Files.createTempDirectory("save-format-benchmark");
+        try (DirectoryStream<Path> jsonSaves = Files.newDirectoryStream(saves, "*." + JsonGameCodec.EXTENSION)) {
+            for (Path save : jsonSaves)
+                games.put(save.getFileName(), file.read(save));
+        }
+        try {
+            for (boolean warmUp : new boolean[]{true, false}) {
+                for (Map.Entry<Path, GameEngine.Snapshot> game : games.entrySet()) {
+                    if (!warmUp)
+                        System.out.println(game.getKey());
+                    for (String extension : new String[]{JsonGameCodec.EXTENSION, BinaryGameCodec.EXTENSION}) {
+                        Path                              target = temporary.resolve("game." + extension);
+                        AppFileCodec<GameEngine.Snapshot> codec  = file.getCodecs().forFile(target);
+                        double                            memory = inMemory(codec, game.getValue());
+                        double                            files  = throughFiles(file, game.getValue(), target);
+                        if (!warmUp)
+                            System.out.printf("  %-6s %4d bytes, encode + decode %5.2f us, save + load %6.1f us%n",
+                                              codec.getName(), encode(codec, game.getValue()).length, memory, files);
+                    }
+                }
+            }
+        } finally {
+            try (DirectoryStream<Path> written = Files.newDirectoryStream(temporary)) {
+                for (Path path : written)
+                    Files.delete(path);
+            }
+            Files.delete(temporary);
+        }
+    }
+
+    /** @return The best average time, in microseconds, to encode and decode the game in memory. */
+    private static double inMemory(AppFileCodec<GameEngine.Snapshot> codec, GameEngine.Snapshot game)
+            throws IOException {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++)
+                codec.decode(new ByteArrayInputStream(encode(codec, game)));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e3 / ITERATIONS;
+    }
+
+    /** @return The best average time, in microseconds, to save the game to a file and load it back. */
+    private static double throughFiles(GameDataFile file, GameEngine.Snapshot game, Path target) throws IOException {
+        long best       = Long.MAX_VALUE;
+        int  iterations = ITERATIONS / 20; // every save is forced to the disk
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                file.write(game, target);
+                file.read(target);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e3 / iterations;
+    }
+
+    private static byte[] encode(AppFileCodec<GameEngine.Snapshot> codec, GameEngine.Snapshot game) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        codec.encode(game, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,61 @@
+package data;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+/**
+ * Compares the heap taken by the playable words of a word list when they are kept as an {@code ArrayList<String>} and
+ * when they are packed into a {@link WordArena}. Each is measured as the growth of the used heap, after garbage
+ * collection, while it is held; run with and without {@code -XX:-UseCompressedOops} to see both pointer sizes.
+ * <p>
+ * Usage: {@code WordArenaFootprint [path to words.txt]}, from the Hangman directory by default.
+ *
+ * @author Charles Giovanniello
+ */
+public class WordArenaFootprint {
+
+    public static void main(String[] args) throws IOException {
+        Path   source   = Paths.get(args.length > 0 ? args[0] : "resources/words/words.txt");
+        byte[] contents = Files.readAllBytes(source);
+        int    count    = DictionaryCompiler.compile(contents).size();
+
+        long              before = usedHeap();
+        ArrayList<String> list   = new ArrayList<>();
+        DictionaryCompiler.compile(contents).forEach((index, letters, offset, length) -> list.add(
+                new String(letters, offset, length, StandardCharsets.ISO_8859_1)));
+        list.trimToSize();
+        long listBytes = usedHeap() - before;
+        if (list.size() != count)
+            throw new IllegalStateException("The list and the arena hold different words.");
+        list.clear();
+
+        before = usedHeap();
+        WordArena arena      = DictionaryCompiler.compile(contents);
+        long      arenaBytes = usedHeap() - before;
+
+        System.out.printf("%,d playable words, compressed oops %s%n", arena.size(), compressedOops());
+        System.out.printf("  ArrayList<String>: %6.1f MB%n", listBytes / 1e6);
+        System.out.printf("  WordArena:         %6.1f MB (arrays alone %.1f MB)%n", arenaBytes / 1e6,
+                          arena.arrayBytes() / 1e6);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String compressedOops() {
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.equals("-XX:-UseCompressedOops"))
+                return "off";
+        }
+        return "on";
+    }
+}
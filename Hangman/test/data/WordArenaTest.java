@@ -0,0 +1,86 @@
+package data;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Charles Giovanniello
+ */
+public class WordArenaTest {
+
+    @Test
+    public void emptyArenaHasNoWords() {
+        WordArena words = new WordArena.Builder().build();
+        assertEquals(0, words.size());
+        assertEquals(4, words.arrayBytes());
+    }
+
+    @Test
+    public void wordsAreStoredBackToBack() {
+        WordArena words = new WordArena.Builder().add("apple").add("fig").add("banana").build();
+
+        assertEquals(3, words.size());
+        assertEquals(5, words.length(0));
+        assertEquals(3, words.length(1));
+        assertEquals(6, words.length(2));
+        assertEquals("apple", words.get(0));
+        assertEquals("fig", words.get(1));
+        assertEquals("banana", words.get(2));
+        assertEquals('g', words.charAt(1, 2));
+        assertEquals('b', words.charAt(2, 0));
+        assertArrayEquals("applefigbanana".getBytes(StandardCharsets.ISO_8859_1), words.getLetters());
+        assertArrayEquals(new int[]{0, 5, 8, 14}, words.getOffsets());
+        assertEquals(14 + 4 * 4, words.arrayBytes());
+    }
+
+    @Test
+    public void wordsCanBeAddedFromASliceOfAnArray() {
+        byte[]    source = "xxcatxdogx".getBytes(StandardCharsets.ISO_8859_1);
+        WordArena words  = new WordArena.Builder().add(source, 2, 3).add(source, 6, 3).build();
+
+        assertEquals("cat", words.get(0));
+        assertEquals("dog", words.get(1));
+    }
+
+    @Test
+    public void lettersBeyondAsciiSurviveTheRoundTrip() {
+        WordArena words = new WordArena.Builder().add("caf\u00e9").build();
+
+        assertEquals("caf\u00e9", words.get(0));
+        assertEquals('\u00e9', words.charAt(0, 3));
+    }
+
+    @Test
+    public void builderGrowsPastItsInitialCapacity() {
+        WordArena.Builder builder = new WordArena.Builder();
+        for (int i = 0; i < 20000; i++)
+            builder.add("word" + i);
+        WordArena words = builder.build();
+
+        assertEquals(20000, words.size());
+        assertEquals("word0", words.get(0));
+        assertEquals("word12345", words.get(12345));
+        assertEquals("word19999", words.get(19999));
+    }
+
+    @Test
+    public void forEachVisitsEveryWordInOrder() {
+        WordArena    words   = new WordArena.Builder().add("one").add("two").add("three").build();
+        List<String> visited = new ArrayList<>();
+        words.forEach((index, letters, offset, length) -> {
+            assertEquals(visited.size(), index);
+            visited.add(new String(letters, offset, length, StandardCharsets.ISO_8859_1));
+        });
+
+        assertEquals(3, visited.size());
+        assertEquals("one", visited.get(0));
+        assertEquals("two", visited.get(1));
+        assertEquals("three", visited.get(2));
+    }
+}
@@ -0,0 +1,85 @@
+package data;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Charles Giovanniello
+ */
+public class WordIndexTest {
+
+    private static final String[] WORDS = {"a", "to", "aa", "cat", "dad", "moon", "noon", "tree", "three", "hangman"};
+
+    private static WordIndex index() {
+        WordArena.Builder builder = new WordArena.Builder();
+        for (String word : WORDS)
+            builder.add(word);
+        return new WordIndex(builder.build());
+    }
+
+    @Test
+    public void countsWordsByLength() {
+        WordIndex index = index();
+
+        assertEquals(7, index.getMaxLength());
+        assertEquals(WORDS.length, index.count(0, Integer.MAX_VALUE));
+        assertEquals(2, index.count(2, 2));
+        assertEquals(5, index.count(3, 4));
+        assertEquals(0, index.count(6, 6));
+        assertEquals(0, index.count(5, 4));
+    }
+
+    @Test
+    public void countsWordsByLengthAndDistinctLetters() {
+        WordIndex index = index();
+
+        assertEquals(2, index.count(0, 10, 1, 1));  // "a" and "aa"
+        assertEquals(1, index.count(4, 4, 2, 2));  // "noon"
+        assertEquals(2, index.count(4, 4, 3, 3));  // "moon" and "tree"
+        assertEquals(1, index.count(7, 7, 5, 5));  // "hangman": h, a, n, g, m
+        assertEquals(0, index.count(0, 10, 8, 26));
+    }
+
+    @Test
+    public void picksOnlyWordsWithinTheRanges() {
+        WordIndex index  = index();
+        Random    random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            String word = index.getWords().get(index.randomIndex(random, 3, 5, 2, 3));
+            assertTrue(word, word.length() >= 3 && word.length() <= 5);
+            int distinct = (int) word.chars().distinct().count();
+            assertTrue(word, distinct >= 2 && distinct <= 3);
+        }
+    }
+
+    @Test
+    public void picksEveryMatchingWordEventually() {
+        WordIndex   index  = index();
+        Random      random = new Random(7);
+        Set<String> picked = new HashSet<>();
+        for (int i = 0; i < 1000; i++)
+            picked.add(index.getWords().get(index.randomIndex(random, 4, 5, 0, WordIndex.MAX_DISTINCT_LETTERS)));
+
+        assertEquals(4, picked.size()); // "moon", "noon", "tree" and "three"
+    }
+
+    @Test
+    public void picksNothingWhenNoWordMatches() {
+        assertEquals(-1, index().randomIndex(new Random(), 6, 6, 0, WordIndex.MAX_DISTINCT_LETTERS));
+        assertEquals(-1, index().randomIndex(new Random(), 0, 10, 9, 9));
+    }
+
+    @Test
+    public void emptyIndexHasNoWords() {
+        WordIndex index = new WordIndex(new WordArena.Builder().build());
+
+        assertEquals(0, index.count(0, Integer.MAX_VALUE));
+        assertEquals(-1, index.randomIndex(new Random(), 0, Integer.MAX_VALUE, 0, WordIndex.MAX_DISTINCT_LETTERS));
+    }
+}
@@ -0,0 +1,112 @@
+package apptemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the steps of starting an application that do not touch the scene graph, such as reading properties files and
+ * decoding images, in the background on a small pool of threads, while the JavaFX application thread waits for their
+ * results only when it needs them to build nodes.
+ * <p>
+ * Every step, in the background or on the JavaFX application thread, is recorded as a phase by the
+ * {@link StartupProfiler}, and so is every wait of the JavaFX application thread for a background step; the waits show
+ * which background steps lie on the critical path.
+ *
+ * @author Ritwik Banerjee
+ */
+public class AppStartup {
+
+    // enough for the properties files, the icons and a warm-up to go on at once, and no more
+    private static final int THREADS = 4;
+
+    private final StartupProfiler            profiler = StartupProfiler.getProfiler();
+    private final List<CompletableFuture<?>> pending  = new ArrayList<>(); // background steps, for the report
+    private final ExecutorService            executor;
+
+    public AppStartup() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(THREADS, task -> {
+            Thread thread = new Thread(task, "startup-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a step in the background.
+     *
+     * @param name The name of the phase under which the step is timed.
+     * @param step The step.
+     * @return The result of the step, to be waited for with {@link #join(String, CompletableFuture)}.
+     */
+    public <T> CompletableFuture<T> submit(String name, Callable<T> step) {
+        CompletableFuture<T> result = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return step.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                profiler.record(name, start);
+            }
+        }, executor);
+        synchronized (this) {
+            pending.add(result);
+        }
+        return result;
+    }
+
+    public CompletableFuture<Void> submit(String name, Runnable step) {
+        return submit(name, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    /**
+     * Waits for a background step, timing the wait as a phase named after the step.
+     *
+     * @return The result of the step.
+     * @throws Exception Whatever the step threw.
+     */
+    public <T> T join(String name, CompletableFuture<T> result) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+            profiler.record("wait for " + name, start);
+        }
+    }
+
+    /** Runs a step on the current thread, timed as a phase. */
+    public <T> T run(String name, Callable<T> step) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return step.call();
+        } finally {
+            profiler.record(name, start);
+        }
+    }
+
+    /**
+     * Ends the startup: no more steps may be submitted, and the threads end once the steps already submitted have.
+     *
+     * @return A future completed once the steps already submitted have ended, however they ended.
+     */
+    public CompletableFuture<Void> finish() {
+        executor.shutdown();
+        CompletableFuture<?>[] steps;
+        synchronized (this) {
+            steps = pending.toArray(new CompletableFuture<?>[pending.size()]);
+        }
+        return CompletableFuture.allOf(steps).handle((done, error) -> null);
+    }
+}
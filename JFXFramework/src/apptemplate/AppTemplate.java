@@ -4,17 +4,27 @@ import components.AppComponentsBuilder;
 import components.AppDataComponent;
 import components.AppFileComponent;
 import components.AppWorkspaceComponent;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.scene.Parent;
+import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import propertymanager.PropertyManager;
+import propertymanager.PropertyManager.PropertyFile;
+import settings.AppPropertyType;
 import settings.InitializationParameters;
 import ui.AppGUI;
 import ui.AppMessageDialogSingleton;
+import ui.ImageCache;
 import ui.YesNoCancelDialogSingleton;
 import xmlutils.InvalidXMLFileFormatException;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static settings.AppPropertyType.*;
 import static settings.InitializationParameters.*;
@@ -24,18 +34,35 @@ import static settings.InitializationParameters.*;
  */
 public abstract class AppTemplate extends Application {
 
+    // LOADED WITH THIS CLASS, SO THAT THE PROFILE STARTS AS THE APPLICATION IS LAUNCHED
+    private static final StartupProfiler PROFILER = StartupProfiler.getProfiler();
+
     private final PropertyManager propertyManager = PropertyManager.getManager();
     private AppDataComponent      dataComponent; // to manage the app's data
     private AppFileComponent      fileComponent; // to manage the app's file I/O
     private AppWorkspaceComponent workspaceComponent; // to manage the app's GUI workspace
     private AppGUI                gui;
 
+    // THE IMAGES THE GUI NEEDS AS SOON AS IT IS BUILT
+    private static final AppPropertyType[] STARTUP_ICONS = {NEW_ICON, LOAD_ICON, SAVE_ICON, EXIT_ICON, APP_LOGO};
+
     public String getFileControllerClass() {
         return "AppFileController";
     }
 
     public abstract AppComponentsBuilder makeAppBuilderHook();
 
+    /**
+     * Provides work that the application wants started in the background as soon as it launches, such as loading
+     * data that will only be needed later. It runs while the properties, the GUI and the workspace are being built.
+     * By default, there is no such work.
+     *
+     * @return The work to run in the background, or {@code null} if there is none.
+     */
+    public Runnable makeWarmUpHook() {
+        return null;
+    }
+
     public AppDataComponent getDataComponent() {
         return dataComponent;
     }
@@ -52,36 +79,141 @@ public abstract class AppTemplate extends Application {
         return gui;
     }
 
+    /**
+     * Starts the application. The steps that do not touch the scene graph (reading both properties files, decoding the
+     * toolbar icons and the logo, and any warm-up) run in the background through an {@link AppStartup}, and this
+     * thread waits for each of them only when it is about to build the nodes that need it. Every step is recorded by
+     * the {@link StartupProfiler}, which reports on them once the workspace has been laid out.
+     */
     @Override
     public void start(Stage primaryStage) {
+        PROFILER.record("launch", PROFILER.getOrigin());
+        AppStartup                 startup       = new AppStartup();
         AppMessageDialogSingleton  messageDialog = AppMessageDialogSingleton.getSingleton();
         YesNoCancelDialogSingleton yesNoDialog   = YesNoCancelDialogSingleton.getSingleton();
         messageDialog.init(primaryStage);
         yesNoDialog.init(primaryStage);
 
+        // BOTH PROPERTIES FILES ARE READ AT ONCE, BUT ADDED IN ORDER, SO THAT THE WORKSPACE PROPERTIES PREVAIL
+        CompletableFuture<PropertyFile> appProperties       =
+                startup.submit(APP_PROPERTIES_XML.getParameter(), () -> readProperties(APP_PROPERTIES_XML));
+        CompletableFuture<PropertyFile> workspaceProperties =
+                startup.submit(WORKSPACE_PROPERTIES_XML.getParameter(), () -> readProperties(WORKSPACE_PROPERTIES_XML));
+        Runnable warmUp = makeWarmUpHook();
+        if (warmUp != null)
+            startup.submit("warm-up", warmUp);
+
         try {
-            if (loadProperties(APP_PROPERTIES_XML) && loadProperties(WORKSPACE_PROPERTIES_XML)) {
-                AppComponentsBuilder builder = makeAppBuilderHook();
-
-                fileComponent = builder.buildFileComponent();
-                dataComponent = builder.buildDataComponent();
-                gui = (propertyManager.hasProperty(APP_WINDOW_WIDTH) && propertyManager.hasProperty(APP_WINDOW_HEIGHT))
-                      ? new AppGUI(primaryStage, propertyManager.getPropertyValue(APP_TITLE.toString()), this,
-                                   Integer.parseInt(propertyManager.getPropertyValue(APP_WINDOW_WIDTH)),
-                                   Integer.parseInt(propertyManager.getPropertyValue(APP_WINDOW_HEIGHT)))
-                      : new AppGUI(primaryStage, propertyManager.getPropertyValue(APP_TITLE.toString()), this);
-                workspaceComponent = builder.buildWorkspaceComponent();
-                initStylesheet();
-                gui.initStyle();
-                workspaceComponent.initStyle();
+            if (addProperties(startup, APP_PROPERTIES_XML, appProperties)) {
+                // THE ICONS ARE NAMED IN THE APP PROPERTIES, SO THEY ARE DECODED INTO THE CACHE AS SOON AS THOSE ARE IN
+                ImageCache                            cache = ImageCache.getCache();
+                Map<String, CompletableFuture<Image>> icons = new LinkedHashMap<>();
+                for (AppPropertyType icon : STARTUP_ICONS) {
+                    String fileName = propertyManager.getPropertyValue(icon);
+                    icons.put(fileName, startup.submit(fileName, () -> cache.get(fileName)));
+                }
+
+                if (addProperties(startup, WORKSPACE_PROPERTIES_XML, workspaceProperties)) {
+                    AppComponentsBuilder builder = makeAppBuilderHook();
+
+                    fileComponent = startup.run("file component", builder::buildFileComponent);
+                    dataComponent = startup.run("data component", builder::buildDataComponent);
+                    joinIcons(startup, icons);
+                    gui = startup.run("gui", () -> makeGUI(primaryStage));
+                    workspaceComponent = startup.run("workspace", builder::buildWorkspaceComponent);
+                    startup.run("stylesheet", () -> {
+                        initStylesheet();
+                        return null;
+                    });
+                    startup.run("style", () -> {
+                        gui.initStyle();
+                        workspaceComponent.initStyle();
+                        return null;
+                    });
+                }
             }
         } catch (Exception e) {
             AppMessageDialogSingleton dialog = AppMessageDialogSingleton.getSingleton();
             dialog.show(propertyManager.getPropertyValue(PROPERTIES_LOAD_ERROR_TITLE.toString()),
                         propertyManager.getPropertyValue(PROPERTIES_LOAD_ERROR_MESSAGE.toString()));
+        } finally {
+            CompletableFuture<Void> steps = startup.finish();
+            if (PROFILER.isEnabled())
+                firstLayout().thenCombine(steps, (end, done) -> end).thenAccept(PROFILER::report);
+        }
+    }
+
+    /**
+     * Waits for the first pulse after the start, and then lays out the workspace at once instead of leaving it to the
+     * pulse, so that the layout can be timed. Used only when profiling.
+     *
+     * @return A future completed with the time at which the workspace has been laid out.
+     */
+    private CompletableFuture<Long> firstLayout() {
+        CompletableFuture<Long> layout = new CompletableFuture<>();
+        long                    start  = System.nanoTime();
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                PROFILER.record("first pulse", start);
+                if (gui != null) {
+                    long   layoutStart = System.nanoTime();
+                    Parent root        = gui.getPrimaryScene().getRoot();
+                    root.applyCss();
+                    root.layout();
+                    PROFILER.record("layout", layoutStart);
+                }
+                layout.complete(System.nanoTime());
+            }
+        }.start();
+        return layout;
+    }
+
+    private PropertyFile readProperties(InitializationParameters propertyParameter)
+            throws InvalidXMLFileFormatException {
+        return propertyManager.readProperties(AppTemplate.class, propertyParameter.getParameter(),
+                                              PROPERTIES_SCHEMA_XSD.getParameter());
+    }
+
+    /**
+     * Waits for a properties file to be read, and adds its properties, or tells the user if it could not be read.
+     *
+     * @return Whether the properties were added.
+     */
+    private boolean addProperties(AppStartup startup, InitializationParameters propertyParameter,
+                                  CompletableFuture<PropertyFile> file) throws Exception {
+        try {
+            propertyManager.addProperties(startup.join(propertyParameter.getParameter(), file));
+            return true;
+        } catch (InvalidXMLFileFormatException e) {
+            AppMessageDialogSingleton dialog = AppMessageDialogSingleton.getSingleton();
+            dialog.show(propertyManager.getPropertyValue(PROPERTIES_LOAD_ERROR_TITLE.toString()),
+                        propertyManager.getPropertyValue(PROPERTIES_LOAD_ERROR_MESSAGE.toString()));
+            return false;
         }
     }
 
+    /** Waits for the icons being decoded; any that could not be are left for the GUI to decode again (and report). */
+    private void joinIcons(AppStartup startup, Map<String, CompletableFuture<Image>> icons) {
+        icons.forEach((fileName, image) -> {
+            try {
+                startup.join(fileName, image);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    private AppGUI makeGUI(Stage primaryStage) throws IOException, InstantiationException {
+        String title = propertyManager.getPropertyValue(APP_TITLE.toString());
+        return (propertyManager.hasProperty(APP_WINDOW_WIDTH) && propertyManager.hasProperty(APP_WINDOW_HEIGHT))
+               ? new AppGUI(primaryStage, title, this,
+                            Integer.parseInt(propertyManager.getPropertyValue(APP_WINDOW_WIDTH)),
+                            Integer.parseInt(propertyManager.getPropertyValue(APP_WINDOW_HEIGHT)))
+               : new AppGUI(primaryStage, title, this, -1, -1);
+    }
+
     public boolean loadProperties(InitializationParameters propertyParameter) {
         try {
             propertyManager.loadProperties(AppTemplate.class, propertyParameter.getParameter(), PROPERTIES_SCHEMA_XSD.getParameter());
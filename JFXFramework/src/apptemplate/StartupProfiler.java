@@ -0,0 +1,146 @@
+package apptemplate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Records how long each phase of starting the application takes, from the launch of the application to its first
+ * pulse, so that startup regressions can be caught across builds. Phases are timed in nanoseconds from the moment the
+ * application class was loaded, on whichever thread they run.
+ * <p>
+ * Profiling is turned on by the system property {@value #PROFILE_PROPERTY}: set to {@code true}, the report is
+ * written to {@value #DEFAULT_REPORT} in the working directory, and set to anything else, it is written to the file
+ * that it names. Once startup is over, the report is written as JSON and a one-line summary is printed. When profiling
+ * is off, recording a phase does nothing.
+ *
+ * @author Ritwik Banerjee
+ */
+public class StartupProfiler {
+
+    public static final String PROFILE_PROPERTY = "app.startupProfile";
+    public static final String DEFAULT_REPORT   = "startup-profile.json";
+
+    private static StartupProfiler singleton = null;
+
+    private final long        origin = System.nanoTime();
+    private final Path        report; // null if profiling is off
+    private final List<Phase> phases = new ArrayList<>();
+    private boolean           reported;
+
+    private StartupProfiler() {
+        String target = System.getProperty(PROFILE_PROPERTY);
+        if (target == null || target.isEmpty() || target.equals("false"))
+            report = null;
+        else
+            report = Paths.get(target.equals("true") ? DEFAULT_REPORT : target);
+    }
+
+    public static synchronized StartupProfiler getProfiler() {
+        if (singleton == null)
+            singleton = new StartupProfiler();
+        return singleton;
+    }
+
+    public boolean isEnabled() {
+        return report != null;
+    }
+
+    /** @return The {@link System#nanoTime()} at which profiling began, when the application class was loaded. */
+    public long getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Records a phase that is ending now, on the current thread.
+     *
+     * @param name  The name of the phase.
+     * @param start The {@link System#nanoTime()} at which the phase began.
+     */
+    public void record(String name, long start) {
+        if (report == null)
+            return;
+        long end = System.nanoTime();
+        synchronized (this) {
+            phases.add(new Phase(name, Thread.currentThread().getName(), start - origin, end - start));
+        }
+    }
+
+    /**
+     * Ends the profile: writes the report and prints its summary, once. Phases recorded after this are ignored.
+     *
+     * @param end The {@link System#nanoTime()} at which startup is deemed to be over.
+     */
+    public void report(long end) {
+        List<Phase> sorted;
+        synchronized (this) {
+            if (report == null || reported)
+                return;
+            reported = true;
+            sorted = new ArrayList<>(phases);
+        }
+        sorted.sort(Comparator.comparingLong(phase -> phase.start));
+        long total = end - origin;
+        // HOW LONG THE JVM HAD BEEN RUNNING AT THE ORIGIN; ASKED ONLY NOW, SINCE ASKING TAKES A WHILE THE FIRST TIME
+        long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000 - (System.nanoTime() - origin);
+
+        StringBuilder summary = new StringBuilder(String.format("Startup took %.1f ms:", total / 1e6));
+        for (Phase phase : sorted)
+            summary.append(String.format(" %s %.1f,", phase.name, phase.duration / 1e6));
+        summary.setLength(summary.length() - 1);
+        System.err.println(summary);
+
+        try (Writer writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            writer.write("{\n");
+            writer.write(String.format("  \"recorded\": %d,\n", System.currentTimeMillis()));
+            writer.write(String.format("  \"jvmUptimeAtLaunchNanos\": %d,\n", jvmUptime));
+            writer.write(String.format("  \"totalNanos\": %d,\n", total));
+            writer.write("  \"phases\": [");
+            for (int i = 0; i < sorted.size(); i++) {
+                Phase phase = sorted.get(i);
+                writer.write(i == 0 ? "\n" : ",\n");
+                writer.write(String.format(
+                        "    {\"name\": %s, \"thread\": %s, \"startNanos\": %d, \"durationNanos\": %d}",
+                        quote(phase.name), quote(phase.thread), phase.start, phase.duration));
+            }
+            writer.write("\n  ]\n}\n");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static String quote(String s) {
+        StringBuilder quoted = new StringBuilder(s.length() + 2).append('"');
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\')
+                quoted.append('\\').append(c);
+            else if (c < 0x20)
+                quoted.append(String.format("\\u%04x", (int) c));
+            else
+                quoted.append(c);
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static class Phase {
+
+        private final String name;
+        private final String thread;
+        private final long   start;    // in nanoseconds since the origin
+        private final long   duration; // in nanoseconds
+
+        private Phase(String name, String thread, long start, long duration) {
+            this.name = name;
+            this.thread = thread;
+            this.start = start;
+            this.duration = duration;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package components;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * This interface provides the structure for the file formats of
+ * our applications. A file component that can save its work in
+ * several formats registers one codec for each of them in an
+ * {@link AppFileCodecRegistry}, which then picks the codec for a
+ * file by its extension or by its first bytes.
+ * <p>
+ * A codec turns a value of type {@code T} (typically an immutable
+ * copy of the data component) into bytes and back. Codecs should
+ * keep whatever is costly to set up, such as a parser or generator
+ * factory, and reuse it for every call; they may be called from
+ * several threads at once.
+ *
+ * @param <T> The type of the values encoded by this codec.
+ * @author Ritwik Banerjee
+ */
+public interface AppFileCodec<T> {
+
+    /** @return A short name of this format, unique among the codecs of an application. */
+    String getName();
+
+    /** @return The name of this format as shown to the user, e.g. in a file chooser. */
+    String getDescription();
+
+    /** @return The MIME type of this format, e.g. "application/json". */
+    String getContentType();
+
+    /**
+     * @return The extensions of files in this format, without the leading dot, of which the first is given to new
+     * files. An extension may itself contain dots, e.g. "json.gz".
+     */
+    List<String> getExtensions();
+
+    /** @return The bytes with which every file in this format starts, or none if the format has no such bytes. */
+    default byte[] getMagic() {
+        return new byte[0];
+    }
+
+    void encode(T value, OutputStream out) throws IOException;
+
+    T decode(InputStream in) throws IOException;
+
+    /** @return The longest of the extensions of this format that ends the name of the given file, or null if none. */
+    default String extensionOf(Path file) {
+        String name  = file.getFileName().toString().toLowerCase();
+        String found = null;
+        for (String extension : getExtensions()) {
+            if (name.endsWith("." + extension) && (found == null || extension.length() > found.length()))
+                found = extension;
+        }
+        return found;
+    }
+
+    /** @return Whether the given contents start with the magic bytes of this format; never, if it has none. */
+    default boolean recognizes(byte[] contents) {
+        byte[] magic = getMagic();
+        if (magic.length == 0 || contents.length < magic.length)
+            return false;
+        for (int i = 0; i < magic.length; i++) {
+            if (contents[i] != magic[i])
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,215 @@
+package components;
+
+import javafx.stage.FileChooser.ExtensionFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The file formats of an application, each given by an {@link AppFileCodec}. The first codec registered is the
+ * default, used for files whose format cannot be told otherwise.
+ * <p>
+ * When a file is read, its format is told first by its magic bytes, then by its extension; when it is written, by its
+ * extension alone. Codecs are usually all registered when the application starts, but the registry can be used from
+ * any thread.
+ *
+ * @param <T> The type of the values encoded by the codecs.
+ * @author Ritwik Banerjee
+ */
+public class AppFileCodecRegistry<T> {
+
+    private final List<AppFileCodec<T>> codecs = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a codec, after all those registered so far.
+     *
+     * @return This registry, to chain registrations.
+     * @throws IllegalArgumentException If a codec of the same name is registered already.
+     */
+    public AppFileCodecRegistry<T> register(AppFileCodec<T> codec) {
+        if (forName(codec.getName()) != null)
+            throw new IllegalArgumentException(String.format("Codec \"%s\" is already registered.", codec.getName()));
+        codecs.add(codec);
+        return this;
+    }
+
+    /** @return The registered codecs, in the order of their registration. */
+    public List<AppFileCodec<T>> getCodecs() {
+        return Collections.unmodifiableList(codecs);
+    }
+
+    /** @return The codec for files whose format cannot be told otherwise, i.e. the first one registered. */
+    public AppFileCodec<T> getDefault() {
+        if (codecs.isEmpty())
+            throw new IllegalStateException("No codec is registered.");
+        return codecs.get(0);
+    }
+
+    /** @return The codec of the given name, or null if none is registered. */
+    public AppFileCodec<T> forName(String name) {
+        for (AppFileCodec<T> codec : codecs) {
+            if (codec.getName().equals(name))
+                return codec;
+        }
+        return null;
+    }
+
+    /** @return The first codec registered for the given MIME type, or null if none is. */
+    public AppFileCodec<T> forContentType(String contentType) {
+        for (AppFileCodec<T> codec : codecs) {
+            if (codec.getContentType().equalsIgnoreCase(contentType))
+                return codec;
+        }
+        return null;
+    }
+
+    /**
+     * @return The codec with the longest extension that ends the name of the given file, e.g. that of "json.gz" rather
+     * than that of "gz", or null if no codec has an extension that does.
+     */
+    public AppFileCodec<T> forFile(Path file) {
+        AppFileCodec<T> found  = null;
+        int             length = -1;
+        for (AppFileCodec<T> codec : codecs) {
+            String extension = codec.extensionOf(file);
+            if (extension != null && extension.length() > length) {
+                found = codec;
+                length = extension.length();
+            }
+        }
+        return found;
+    }
+
+    /** @return The first codec whose magic bytes start the given contents, or null if there is none. */
+    public AppFileCodec<T> forContents(byte[] contents) {
+        for (AppFileCodec<T> codec : codecs) {
+            if (codec.recognizes(contents))
+                return codec;
+        }
+        return null;
+    }
+
+    /** @return The codec in which to read the given file: by its magic bytes, else by its name, else the default. */
+    public AppFileCodec<T> selectForReading(Path file, byte[] contents) {
+        AppFileCodec<T> codec = forContents(contents);
+        if (codec == null)
+            codec = forFile(file);
+        return codec == null ? getDefault() : codec;
+    }
+
+    /** @return The codec in which to write the given file: by its name, else the default. */
+    public AppFileCodec<T> selectForWriting(Path file) {
+        AppFileCodec<T> codec = forFile(file);
+        return codec == null ? getDefault() : codec;
+    }
+
+    /**
+     * @return One file chooser filter for each codec, in the order of their registration, matching all its extensions
+     * and described by its description followed by those extensions, e.g. "Game File (*.json)".
+     */
+    public List<ExtensionFilter> extensionFilters() {
+        List<ExtensionFilter> filters = new ArrayList<>();
+        for (AppFileCodec<T> codec : codecs) {
+            List<String> patterns = new ArrayList<>();
+            for (String extension : codec.getExtensions())
+                patterns.add("*." + extension);
+            String description = String.format("%s (%s)", codec.getDescription(), String.join(", ", patterns));
+            filters.add(new ExtensionFilter(description, patterns));
+        }
+        return filters;
+    }
+
+    /**
+     * @return The given file if its name already ends with the extension of some codec, and otherwise the same file
+     * with the first extension of the default codec added, so that it is written in the default format.
+     */
+    public Path withDefaultExtension(Path file) {
+        if (forFile(file) != null)
+            return file;
+        return file.resolveSibling(file.getFileName() + "." + getDefault().getExtensions().get(0));
+    }
+
+    /**
+     * Times every registered codec on the same value, so that formats can be compared on real data. Each codec first
+     * encodes and decodes the value as many times again without being timed, to warm it up.
+     *
+     * @param sample     The value to encode and decode.
+     * @param iterations How many times to encode and decode it with each codec.
+     * @return The results, one for each codec, in the order of their registration.
+     * @throws IOException If a codec fails on the value.
+     */
+    public List<Benchmark> benchmark(T sample, int iterations) throws IOException {
+        List<Benchmark> results = new ArrayList<>();
+        for (AppFileCodec<T> codec : codecs) {
+            byte[] encoded = encode(codec, sample);
+            for (int i = 0; i < iterations; i++)
+                codec.decode(new ByteArrayInputStream(encode(codec, sample)));
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++)
+                encode(codec, sample);
+            long encodeNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++)
+                codec.decode(new ByteArrayInputStream(encoded));
+            long decodeNanos = System.nanoTime() - start;
+
+            results.add(new Benchmark(codec.getName(), encoded.length, encodeNanos / iterations,
+                                      decodeNanos / iterations));
+        }
+        return results;
+    }
+
+    private static <T> byte[] encode(AppFileCodec<T> codec, T value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        codec.encode(value, out);
+        return out.toByteArray();
+    }
+
+    /** How one codec fared in {@link #benchmark(Object, int)}. */
+    public static class Benchmark {
+
+        private final String codec;
+        private final int    size;        // in bytes
+        private final long   encodeNanos; // per value
+        private final long   decodeNanos; // per value
+
+        private Benchmark(String codec, int size, long encodeNanos, long decodeNanos) {
+            this.codec = codec;
+            this.size = size;
+            this.encodeNanos = encodeNanos;
+            this.decodeNanos = decodeNanos;
+        }
+
+        public String getCodec() {
+            return codec;
+        }
+
+        /** @return The size of the encoded value, in bytes. */
+        public int getSize() {
+            return size;
+        }
+
+        /** @return The average time to encode the value, in nanoseconds. */
+        public long getEncodeNanos() {
+            return encodeNanos;
+        }
+
+        /** @return The average time to decode the value, in nanoseconds. */
+        public long getDecodeNanos() {
+            return decodeNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d bytes, encode %d ns, decode %d ns", codec, size, encodeNanos, decodeNanos);
+        }
+    }
+}
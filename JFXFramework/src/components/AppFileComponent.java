@@ -18,4 +18,12 @@ public interface AppFileComponent {
     void loadData(AppDataComponent data, Path filePath) throws IOException;
 
     void exportData(AppDataComponent data, Path filePath) throws IOException;
+
+    /**
+     * @return The formats in which this component saves and loads work, or null if it has only the one named by the
+     * WORK_FILE_EXT property.
+     */
+    default AppFileCodecRegistry<?> getCodecs() {
+        return null;
+    }
 }
@@ -0,0 +1,76 @@
+package components;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A gzip-compressed variant of another format. Its extensions are those of the other format followed by ".gz", and its
+ * files are told apart by the gzip magic bytes.
+ *
+ * @param <T> The type of the values encoded by the codec.
+ * @author Ritwik Banerjee
+ */
+public class CompressedFileCodec<T> implements AppFileCodec<T> {
+
+    public static final String CONTENT_TYPE = "application/gzip";
+
+    private static final byte[] GZIP_MAGIC  = {(byte) 0x1f, (byte) 0x8b};
+    private static final int    BUFFER_SIZE = 4096;
+
+    private final AppFileCodec<T> format;
+    private final String          description;
+    private final List<String>    extensions = new ArrayList<>();
+
+    /**
+     * @param format      The format in which values are encoded before being compressed.
+     * @param description The name of the compressed format as shown to the user.
+     */
+    public CompressedFileCodec(AppFileCodec<T> format, String description) {
+        this.format = format;
+        this.description = description;
+        for (String extension : format.getExtensions())
+            extensions.add(extension + ".gz");
+    }
+
+    @Override
+    public String getName() {
+        return format.getName() + "+gzip";
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public List<String> getExtensions() {
+        return extensions;
+    }
+
+    @Override
+    public byte[] getMagic() {
+        return GZIP_MAGIC.clone();
+    }
+
+    @Override
+    public void encode(T value, OutputStream out) throws IOException {
+        GZIPOutputStream compressed = new GZIPOutputStream(out, BUFFER_SIZE);
+        format.encode(value, compressed);
+        compressed.finish(); // the stream is the caller's to close
+    }
+
+    @Override
+    public T decode(InputStream in) throws IOException {
+        return format.decode(new GZIPInputStream(in, BUFFER_SIZE));
+    }
+}
@@ -1,6 +1,7 @@
 package controller;
 
 import apptemplate.AppTemplate;
+import components.AppFileCodecRegistry;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.stage.FileChooser;
 import javafx.stage.FileChooser.ExtensionFilter;
@@ -89,8 +90,7 @@ public class AppFileController implements FileController {
                 File initialDir = new File(workDirURL.getFile());
                 fileChooser.setInitialDirectory(initialDir);
                 fileChooser.setTitle(propertyManager.getPropertyValue(SAVE_WORK_TITLE));
-                fileChooser.getExtensionFilters().addAll(new ExtensionFilter(propertyManager.getPropertyValue(WORK_FILE_EXT_DESC),
-                                                                             propertyManager.getPropertyValue(WORK_FILE_EXT)));
+                addExtensionFilters(fileChooser);
                 File selectedFile = fileChooser.showSaveDialog(appTemplate.getGUI().getWindow());
                 if (selectedFile != null)
                     saveWork(selectedFile);
@@ -114,6 +114,7 @@ public class AppFileController implements FileController {
      * @throws IOException
      */
     private void saveWork(File selectedFile) throws IOException {
+        selectedFile = withExtension(selectedFile);
         appTemplate.getFileComponent()
                    .saveData(appTemplate.getDataComponent(), Paths.get(selectedFile.getAbsolutePath()));
 
@@ -125,6 +126,33 @@ public class AppFileController implements FileController {
         dialog.show(props.getPropertyValue(SAVE_COMPLETED_TITLE), props.getPropertyValue(SAVE_COMPLETED_MESSAGE));
     }
     
+    /**
+     * Offers the formats of the file component in a file chooser: those of its codecs, in the order in which they
+     * were registered, or else the single format named by the WORK_FILE_EXT property.
+     */
+    private void addExtensionFilters(FileChooser filechooser) {
+        AppFileCodecRegistry<?> codecs = appTemplate.getFileComponent().getCodecs();
+        if (codecs == null) {
+            PropertyManager propertyManager = PropertyManager.getManager();
+            String          description     = propertyManager.getPropertyValue(WORK_FILE_EXT_DESC);
+            String          extension       = propertyManager.getPropertyValue(WORK_FILE_EXT);
+            String          pattern         = String.format("*.%s", extension);
+            filechooser.getExtensionFilters().add(new ExtensionFilter(String.format("%s (%s)", description, pattern),
+                                                                      pattern));
+            return;
+        }
+        filechooser.getExtensionFilters().addAll(codecs.extensionFilters());
+    }
+
+    /**
+     * Gives a file the extension of the default format if its name does not already end with that of some format, so
+     * that the file component can tell which codec to save it with.
+     */
+    private File withExtension(File file) {
+        AppFileCodecRegistry<?> codecs = appTemplate.getFileComponent().getCodecs();
+        return codecs == null ? file : codecs.withDefaultExtension(file.toPath()).toFile();
+    }
+
     /** This method will exit the application. If work is unsaved, it will first prompt the user. */
     public void handleExitRequest() {
         try {
@@ -172,12 +200,7 @@ public class AppFileController implements FileController {
                 File initialDir = new File(workDirURL.getFile());
                 filechooser.setInitialDirectory(initialDir);
                 filechooser.setTitle(propertyManager.getPropertyValue(SAVE_WORK_TITLE));
-
-                String description = propertyManager.getPropertyValue(WORK_FILE_EXT_DESC);
-                String extension   = propertyManager.getPropertyValue(WORK_FILE_EXT);
-                ExtensionFilter extFilter = new ExtensionFilter(String.format("%s (*.%s)", description, extension),
-                                                                String.format("*.%s", extension));
-                filechooser.getExtensionFilters().add(extFilter);
+                addExtensionFilters(filechooser);
                 File selectedFile = filechooser.showSaveDialog(appTemplate.getGUI().getWindow());
                 if (selectedFile != null)
                     saveWork(selectedFile);
@@ -0,0 +1,210 @@
+package propertymanager;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * A cache of the properties loaded from each properties file, so that later launches need not validate and parse the
+ * XML again. The cached properties of a file are stored in a small binary file, together with checksums of the
+ * contents of the XML file and of its schema; they are used only as long as both are unchanged.
+ * <p>
+ * The cache is kept in the directory named by the {@value #CACHE_DIRECTORY_PROPERTY} system property, or else in the
+ * {@value #DEFAULT_DIRECTORY} directory under the user's home. If that system property is set but empty, nothing is
+ * cached. The directory is created readable by its owner alone, where the file system allows it, and cache files
+ * that belong to any other user are ignored, so that no one else can plant properties in the application.
+ * <p>
+ * Cache file layout (big-endian): the magic number, the format version, the key (see {@link #key(URL, URL)}),
+ * then the number of properties, each a name and a value, and the number of option lists, each a name, the number of
+ * its options and the options. All strings are in modified UTF-8.
+ *
+ * @author Ritwik Banerjee
+ */
+public class PropertyCache {
+
+    public static final String CACHE_DIRECTORY_PROPERTY = "app.propertyCache";
+    public static final String DEFAULT_DIRECTORY        = ".jfx-property-cache";
+    public static final int    CACHE_MAGIC              = 0x50524F50; // "PROP"
+    public static final int    CACHE_VERSION            = 2;
+
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+    private final Path directory; // null if nothing is cached
+
+    public PropertyCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /** @return The cache in the directory named by the system property, or in the default directory. */
+    public static PropertyCache getDefault() {
+        String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+        if (directory == null)
+            return new PropertyCache(Paths.get(System.getProperty("user.home"), DEFAULT_DIRECTORY));
+        return new PropertyCache(directory.isEmpty() ? null : Paths.get(directory));
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * @return The key of the properties of an XML file: the length and the CRC-32 checksum of its contents, then those
+     * of its schema. This only needs to tell an edited file from the original, and unlike a cryptographic hash costs
+     * nothing to set up, which matters since it is computed at every launch. The files are streamed through the
+     * checksum, never held in memory whole.
+     */
+    public static byte[] key(URL xml, URL xsd) throws IOException {
+        ByteBuffer key = ByteBuffer.allocate(2 * (Long.BYTES + Long.BYTES));
+        checksum(xml, key);
+        checksum(xsd, key);
+        return key.array();
+    }
+
+    private static void checksum(URL resource, ByteBuffer key) throws IOException {
+        CRC32  crc    = new CRC32();
+        long   length = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream in = resource.openStream()) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                crc.update(buffer, 0, read);
+                length += read;
+            }
+        }
+        key.putLong(length).putLong(crc.getValue());
+    }
+
+    /**
+     * Loads the cached properties of an XML file into the given maps, if they are cached under the given key.
+     *
+     * @return Whether the properties were cached; if not, the maps are left as they were.
+     */
+    public boolean load(URL xml, byte[] key, Map<String, String> properties, Map<String, List<String>> options) {
+        if (directory == null)
+            return false;
+        Path file = fileFor(xml);
+        if (!Files.exists(file))
+            return false;
+        if (!isOwned(file)) {
+            System.err.printf("Ignoring the property cache %s, which belongs to another user.%n", file);
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            byte[] cachedKey = new byte[key.length];
+            if (in.readInt() != CACHE_MAGIC || in.readByte() != CACHE_VERSION)
+                return false;
+            in.readFully(cachedKey);
+            if (!Arrays.equals(key, cachedKey))
+                return false;
+
+            Map<String, String>       cachedProperties = new HashMap<>();
+            Map<String, List<String>> cachedOptions    = new HashMap<>();
+            for (int count = in.readInt(); count > 0; count--)
+                cachedProperties.put(in.readUTF(), in.readUTF());
+            for (int count = in.readInt(); count > 0; count--) {
+                String       name = in.readUTF();
+                List<String> list = new ArrayList<>();
+                for (int size = in.readInt(); size > 0; size--)
+                    list.add(in.readUTF());
+                cachedOptions.put(name, list);
+            }
+            properties.putAll(cachedProperties);
+            options.putAll(cachedOptions);
+            return true;
+        } catch (IOException e) {
+            System.err.printf("Ignoring the damaged property cache %s.%n", file);
+            return false;
+        }
+    }
+
+    /** Caches the properties of an XML file under the given key, replacing whatever was cached for it before. */
+    public void store(URL xml, byte[] key, Map<String, String> properties, Map<String, List<String>> options) {
+        if (directory == null)
+            return;
+        Path file      = fileFor(xml);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (directory.getFileSystem().supportedFileAttributeViews().contains("posix"))
+                Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+            else
+                Files.createDirectories(directory);
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temporary))) {
+                out.writeInt(CACHE_MAGIC);
+                out.writeByte(CACHE_VERSION);
+                out.write(key);
+                out.writeInt(properties.size());
+                for (Map.Entry<String, String> property : properties.entrySet()) {
+                    out.writeUTF(property.getKey());
+                    out.writeUTF(property.getValue());
+                }
+                out.writeInt(options.size());
+                for (Map.Entry<String, List<String>> list : options.entrySet()) {
+                    out.writeUTF(list.getKey());
+                    out.writeInt(list.getValue().size());
+                    for (String option : list.getValue())
+                        out.writeUTF(option);
+                }
+            }
+            try {
+                Files.move(temporary, file, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            e.printStackTrace(); // the properties are loaded all the same, only not cached
+        } finally {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * @return Whether a file belongs to the user running the application, or the file system does not tell owners.
+     */
+    private static boolean isOwned(Path file) {
+        try {
+            UserPrincipal user = file.getFileSystem().getUserPrincipalLookupService()
+                                     .lookupPrincipalByName(System.getProperty("user.name"));
+            return Files.getOwner(file).equals(user);
+        } catch (UnsupportedOperationException e) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return The cache file of an XML file, named after the file and a checksum of its full location, so that
+     * applications with properties files of the same name do not share a cache file.
+     */
+    private Path fileFor(URL xml) {
+        String path = xml.getPath();
+        CRC32  crc  = new CRC32();
+        crc.update(xml.toExternalForm().getBytes(UTF_8));
+        return directory.resolve(String.format("%s-%08x.cache", path.substring(path.lastIndexOf('/') + 1),
+                                               crc.getValue()));
+    }
+}
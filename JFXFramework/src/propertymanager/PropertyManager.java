@@ -1,12 +1,11 @@
 package propertymanager;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
 import xmlutils.InvalidXMLFileFormatException;
+import xmlutils.XMLElementVisitor;
 import xmlutils.XMLUtilities;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.util.*;
 
@@ -15,7 +14,8 @@ import java.util.*;
  */
 public class PropertyManager {
 
-    private static final XMLUtilities xmlUtilities = new XMLUtilities();
+    private static final XMLUtilities  xmlUtilities = new XMLUtilities();
+    private static final PropertyCache cache        = PropertyCache.getDefault();
 
     private static PropertyManager singleton = null;
 
@@ -77,36 +77,99 @@ public class PropertyManager {
         return properties.get(property.toString()) != null;
     }
     
-    public void loadProperties(Class klass, String xmlfilename, String schemafilename) throws InvalidXMLFileFormatException {
-        URL             xmlFileResource    = klass.getClassLoader().getResource(PROPERTIES_RESOURCE_RELATIVE_PATH + File.separator + xmlfilename);
-        URL             schemaFileResource = klass.getClassLoader().getResource(PROPERTIES_RESOURCE_RELATIVE_PATH + File.separator + schemafilename);
-        Document        document           = xmlUtilities.loadXMLDocument(xmlFileResource, schemaFileResource);
-        Node            propertyListNode   = xmlUtilities.getNodeWithName(document, PROPERTY_LIST_ELEMENT);
-        ArrayList<Node> propNodes          = xmlUtilities.getChildNodesWithName(propertyListNode, PROPERTY_ELEMENT);
-        for (Node n : propNodes) {
-            NamedNodeMap attributes = n.getAttributes();
-            for (int i = 0; i < attributes.getLength(); i++) {
-                String attName  = attributes.getNamedItem(NAME_ATTRIBUTE).getTextContent();
-                String attValue = attributes.getNamedItem(VALUE_ATTRIBUTE).getTextContent();
-                properties.put(attName, attValue);
-            }
+    /**
+     * Loads the properties of an XML file, validated against a schema, adding them to those loaded so far. The
+     * properties of each file are cached, so that as long as neither the file nor its schema changes, later launches
+     * read them from the {@link PropertyCache} instead of validating and parsing the XML.
+     *
+     * @param klass          A class whose class loader finds the properties resources.
+     * @param xmlfilename    The name of the XML file, relative to the properties resources.
+     * @param schemafilename The name of its schema, relative to the properties resources.
+     * @throws InvalidXMLFileFormatException If the file cannot be read or is not valid.
+     */
+    public void loadProperties(Class<?> klass, String xmlfilename, String schemafilename)
+            throws InvalidXMLFileFormatException {
+        addProperties(readProperties(klass, xmlfilename, schemafilename));
+    }
+
+    /**
+     * Reads the properties of an XML file, as {@link #loadProperties(Class, String, String)} does, but without adding
+     * them to this manager. This leaves the manager untouched, so several files can be read at once on different
+     * threads, and then added in a set order with {@link #addProperties(PropertyFile)}.
+     *
+     * @return The properties read from the file.
+     * @throws InvalidXMLFileFormatException If the file cannot be read or is not valid.
+     */
+    public PropertyFile readProperties(Class<?> klass, String xmlfilename, String schemafilename)
+            throws InvalidXMLFileFormatException {
+        String directory          = PROPERTIES_RESOURCE_RELATIVE_PATH + File.separator;
+        URL    xmlFileResource    = klass.getClassLoader().getResource(directory + xmlfilename);
+        URL    schemaFileResource = klass.getClassLoader().getResource(directory + schemafilename);
+        if (xmlFileResource == null || schemaFileResource == null)
+            throw new InvalidXMLFileFormatException(xmlfilename, schemafilename);
+
+        byte[] key;
+        try {
+            key = PropertyCache.key(xmlFileResource, schemaFileResource);
+        } catch (IOException e) {
+            throw new InvalidXMLFileFormatException(xmlfilename, schemafilename);
         }
-        
-        // AND THE PROPERTIES FROM OPTION LISTS
-        Node propertyOptionsListNode = xmlUtilities.getNodeWithName(document, PROPERTY_OPTIONS_LIST_ELEMENT);
-        if (propertyOptionsListNode != null) {
-            ArrayList<Node> propertyOptionsNodes = xmlUtilities.getChildNodesWithName(propertyOptionsListNode, PROPERTY_OPTIONS_ELEMENT);
-            for (Node n : propertyOptionsNodes) {
-                NamedNodeMap      attributes = n.getAttributes();
-                String            name       = attributes.getNamedItem(NAME_ATTRIBUTE).getNodeValue();
-                ArrayList<String> options    = new ArrayList<>();
-                propertyOptions.put(name, options);
-                ArrayList<Node> optionsNodes = xmlUtilities.getChildNodesWithName(n, OPTION_ELEMENT);
-                for (Node oNode : optionsNodes) {
-                    String option = oNode.getTextContent();
-                    options.add(option);
+        PropertyFile file = new PropertyFile();
+        if (cache.load(xmlFileResource, key, file.properties, file.propertyOptions))
+            return file;
+
+        parseProperties(xmlFileResource, schemaFileResource, file.properties, file.propertyOptions);
+        cache.store(xmlFileResource, key, file.properties, file.propertyOptions);
+        return file;
+    }
+
+    /** Adds the properties read from a file, replacing any loaded before under the same names. */
+    public synchronized void addProperties(PropertyFile file) {
+        properties.putAll(file.properties);
+        propertyOptions.putAll(file.propertyOptions);
+    }
+
+    /**
+     * Reads the properties of an XML file in a single streaming pass, which validates the file as it goes, into the
+     * given maps. Property elements give a name and a value; each property_options element gives the name of a list
+     * whose option elements follow inside it.
+     */
+    private void parseProperties(URL xmlFileResource, URL schemaFileResource, Map<String, String> properties,
+                                 Map<String, List<String>> propertyOptions) throws InvalidXMLFileFormatException {
+        xmlUtilities.streamXML(xmlFileResource, schemaFileResource, new XMLElementVisitor() {
+            List<String> options; // the option list being read, if any
+
+            @Override
+            public void startElement(String name, Map<String, String> attributes) {
+                switch (name) {
+                    case PROPERTY_ELEMENT:
+                        properties.put(attributes.get(NAME_ATTRIBUTE), attributes.get(VALUE_ATTRIBUTE));
+                        break;
+                    case PROPERTY_OPTIONS_ELEMENT:
+                        options = new ArrayList<>();
+                        propertyOptions.put(attributes.get(NAME_ATTRIBUTE), options);
+                        break;
                 }
             }
+
+            @Override
+            public void endElement(String name, String text) {
+                if (name.equals(OPTION_ELEMENT) && options != null)
+                    options.add(text);
+                else if (name.equals(PROPERTY_OPTIONS_ELEMENT))
+                    options = null;
+            }
+        });
+    }
+
+    /** The properties read from one XML file, which have not been added to the manager yet. */
+    public static class PropertyFile {
+
+        private final Map<String, String>       properties      = new HashMap<>();
+        private final Map<String, List<String>> propertyOptions = new HashMap<>();
+
+        public String getPropertyValue(Object property) {
+            return properties.get(property.toString());
         }
     }
 }
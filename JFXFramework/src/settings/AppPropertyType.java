@@ -50,10 +50,18 @@ public enum AppPropertyType {
     LOAD_WORK_TITLE,
     WORK_FILE_EXT,
     WORK_FILE_EXT_DESC,
+    WORK_FILE_BINARY_EXT_DESC,
+    WORK_FILE_COMPRESSED_EXT_DESC,
     LOAD_COMPLETED_MESSAGE,
     LOAD_COMPLETED_TITLE,
 
     GAME_WON_MESSAGE,
     GAME_LOST_MESSAGE,
-    GAME_OVER_TITLE
+    GAME_OVER_TITLE,
+
+    // DIAGNOSTICS
+    PERFORMANCE_OVERLAY,
+    PERFORMANCE_LOG,
+    KEYSTROKE_TRACE,
+    KEYSTROKE_TRACE_FILE
 }
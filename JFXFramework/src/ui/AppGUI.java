@@ -6,7 +6,6 @@ import controller.FileController;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.FlowPane;
@@ -14,19 +13,12 @@ import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
 import propertymanager.PropertyManager;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 
 import static settings.AppPropertyType.*;
-import static settings.InitializationParameters.APP_IMAGEDIR_PATH;
 
 /**
  * This class provides the basic user interface for this application, including all the file controls, but it does not
@@ -49,7 +41,7 @@ public class AppGUI implements AppStyleArbiter {
 
     private int appWindowWidth;  // optional parameter for window width that can be set by the application
     private int appWindowHeight; // optional parameter for window height that can be set by the application
-    
+
     /**
      * This constructor initializes the file toolbar for use.
      *
@@ -160,14 +152,7 @@ public class AppGUI implements AppStyleArbiter {
                                                                              appWindowWidth,
                                                                              appWindowHeight);
 
-        URL imgDirURL = AppTemplate.class.getClassLoader().getResource(APP_IMAGEDIR_PATH.getParameter());
-        if (imgDirURL == null)
-            throw new FileNotFoundException("Image resrouces folder does not exist.");
-        try (InputStream appLogoStream = Files.newInputStream(Paths.get(imgDirURL.toURI()).resolve(propertyManager.getPropertyValue(APP_LOGO)))) {
-            primaryStage.getIcons().add(new Image(appLogoStream));
-        } catch (URISyntaxException e) {
-            e.printStackTrace();
-        }
+        primaryStage.getIcons().add(ImageCache.getCache().get(propertyManager.getPropertyValue(APP_LOGO)));
 
         primaryStage.setScene(primaryScene);
         primaryStage.show();
@@ -187,26 +172,16 @@ public class AppGUI implements AppStyleArbiter {
     public Button initializeChildButton(Pane toolbarPane, String icon, String tooltip, boolean disabled) throws IOException {
         PropertyManager propertyManager = PropertyManager.getManager();
 
-        URL imgDirURL = AppTemplate.class.getClassLoader().getResource(APP_IMAGEDIR_PATH.getParameter());
-        if (imgDirURL == null)
-            throw new FileNotFoundException("Image resources folder does not exist.");
-
         Button button = new Button();
-        try (InputStream imgInputStream = Files.newInputStream(Paths.get(imgDirURL.toURI()).resolve(propertyManager.getPropertyValue(icon)))) {
-            Image buttonImage = new Image(imgInputStream);
-            button.setDisable(disabled);
-            button.setGraphic(new ImageView(buttonImage));
-            Tooltip buttonTooltip = new Tooltip(propertyManager.getPropertyValue(tooltip));
-            button.setTooltip(buttonTooltip);
-            toolbarPane.getChildren().add(button);
-        } catch (URISyntaxException e) {
-            e.printStackTrace();
-            System.exit(1);
-        }
+        button.setDisable(disabled);
+        button.setGraphic(new ImageView(ImageCache.getCache().get(propertyManager.getPropertyValue(icon))));
+        Tooltip buttonTooltip = new Tooltip(propertyManager.getPropertyValue(tooltip));
+        button.setTooltip(buttonTooltip);
+        toolbarPane.getChildren().add(button);
 
         return button;
     }
-    
+
     /**
      * This function specifies the CSS style classes for the controls managed
      * by this framework.
@@ -0,0 +1,118 @@
+package ui;
+
+import javafx.scene.image.Image;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+import static settings.InitializationParameters.APP_IMAGEDIR_PATH;
+
+/**
+ * This class keeps the images decoded from the images resources folder, so that every window and dialog of the
+ * application shares one decoded copy of each. Images are read through the class loader, so they are found whether the
+ * resources are in a folder or inside a jar.
+ * <p>
+ * An image may be asked for at its own size or scaled to fit a given size, and each such variant is decoded and kept
+ * separately. Decoding does not touch the scene graph, so images may be asked for from any thread, and may be decoded
+ * ahead of time in the background with {@link #prefetch(String, Executor)}. An image that is asked for while it is
+ * being decoded is waited for rather than decoded twice.
+ *
+ * @author Ritwik Banerjee
+ */
+public class ImageCache {
+
+    private static ImageCache singleton = null;
+
+    private final ConcurrentMap<String, CompletableFuture<Image>> images = new ConcurrentHashMap<>(); // by variant
+
+    private ImageCache() { }
+
+    public static synchronized ImageCache getCache() {
+        if (singleton == null)
+            singleton = new ImageCache();
+        return singleton;
+    }
+
+    /**
+     * @param fileName The name of the image file in the images resources folder.
+     * @return The image at its own size.
+     * @throws IOException If the image cannot be found or decoded.
+     */
+    public Image get(String fileName) throws IOException {
+        return get(fileName, 0, 0);
+    }
+
+    /**
+     * @param fileName The name of the image file in the images resources folder.
+     * @param width    The width of the box the image is scaled to fit, or 0 to keep its own width.
+     * @param height   The height of the box the image is scaled to fit, or 0 to keep its own height.
+     * @return The image, scaled smoothly to fit the given box, keeping its aspect ratio.
+     * @throws IOException If the image cannot be found or decoded.
+     */
+    public Image get(String fileName, double width, double height) throws IOException {
+        String                   variant = width <= 0 && height <= 0 ? fileName : fileName + "@" + width + "x" + height;
+        CompletableFuture<Image> image   = images.get(variant);
+        if (image == null) {
+            CompletableFuture<Image> decoding = new CompletableFuture<>();
+            image = images.putIfAbsent(variant, decoding);
+            if (image == null) {
+                image = decoding;
+                try {
+                    decoding.complete(decode(fileName, width, height));
+                } catch (IOException | RuntimeException e) {
+                    images.remove(variant, decoding); // failures are not kept, so the image can be asked for again
+                    decoding.completeExceptionally(e);
+                }
+            }
+        }
+        try {
+            return image.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts decoding an image at its own size in the background, unless it has been decoded already.
+     *
+     * @param fileName The name of the image file in the images resources folder.
+     * @param executor The executor on which to decode the image.
+     * @return The image, once it has been decoded.
+     */
+    public CompletableFuture<Image> prefetch(String fileName, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return get(fileName);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /** Forgets all the decoded images, e.g. once the images resources have changed. */
+    public void clear() {
+        images.clear();
+    }
+
+    private static Image decode(String fileName, double width, double height) throws IOException {
+        // RESOURCE NAMES ALWAYS USE '/', WHATEVER THE FILE SYSTEM
+        String resource = APP_IMAGEDIR_PATH.getParameter() + "/" + fileName;
+        try (InputStream imgInputStream = ImageCache.class.getClassLoader().getResourceAsStream(resource)) {
+            if (imgInputStream == null)
+                throw new FileNotFoundException(String.format("Image %s does not exist.", resource));
+            Image image = width <= 0 && height <= 0 ? new Image(imgInputStream)
+                                                    : new Image(imgInputStream, width, height, true, true);
+            if (image.isError())
+                throw new IOException(String.format("Image %s cannot be decoded.", resource), image.getException());
+            return image;
+        }
+    }
+}
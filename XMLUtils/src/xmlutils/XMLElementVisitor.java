@@ -0,0 +1,35 @@
+package xmlutils;
+
+import org.xml.sax.SAXException;
+
+import java.util.Map;
+
+/**
+ * This interface provides the callbacks through which
+ * {@link XMLUtilities#streamXML(java.net.URL, java.net.URL, XMLElementVisitor)}
+ * hands the elements of an XML file to its caller, one at a time
+ * and in document order, as the file is being read and validated.
+ * Nothing of an element is kept once its end has been visited.
+ *
+ * @author Ritwik Banerjee
+ */
+public interface XMLElementVisitor {
+
+    /**
+     * Visits the start of an element.
+     *
+     * @param name       The local name of the element.
+     * @param attributes The attributes of the element, by local name, in document order.
+     * @throws SAXException To stop reading the file.
+     */
+    default void startElement(String name, Map<String, String> attributes) throws SAXException {}
+
+    /**
+     * Visits the end of an element.
+     *
+     * @param name The local name of the element.
+     * @param text The text directly inside the element (not inside its child elements), trimmed.
+     * @throws SAXException To stop reading the file.
+     */
+    default void endElement(String name, String text) throws SAXException {}
+}
@@ -4,19 +4,35 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.namespace.QName;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * This class provides general purpose utilities for the loading and
@@ -34,6 +50,24 @@ public class XMLUtilities {
     // THIS REFERENCES A STANDARD SCHEMA FORMAT. NOTE THIS IS NOT THE SCHEMA
     public static final String SCHEMA_STANDARD_SPEC_URL = "http://www.w3.org/2001/XMLSchema";
 
+    // COMPILED SCHEMAS, BY THEIR LOCATION, SHARED BY ALL INSTANCES
+    private static final ConcurrentMap<String, Schema> schemas = new ConcurrentHashMap<>();
+
+    // STAX INPUT FACTORIES ARE THREAD-SAFE ONCE CONFIGURED, SO ONE WILL DO. IT IS
+    // COSTLY TO LOOK UP, SO THIS HOLDER LOOKS IT UP ONLY WHEN IT IS FIRST USED
+    private static class StAX {
+        static final XMLInputFactory inputFactory = newInputFactory();
+
+        // DTDS AND EXTERNAL ENTITIES ARE TURNED OFF, SO THAT A FILE CANNOT
+        // MAKE THE PARSER READ OTHER FILES OR FETCH ANYTHING (XXE)
+        private static XMLInputFactory newInputFactory() {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return factory;
+        }
+    }
+
     /**
      * Default Constructor, no data needs to be initialized.
      */
@@ -54,23 +88,17 @@ public class XMLUtilities {
     public boolean validateXMLDoc(String xmlDocNameAndPath,
                                   String xmlSchemaNameAndPath) {
         try {
-            // 1. Lookup a factory for the W3C XML Schema language
-            SchemaFactory factory = SchemaFactory.newInstance(SCHEMA_STANDARD_SPEC_URL);
-            
-            // 2. Compile the schema. 
-            // Here the schema is loaded from a java.io.File, but you could use 
-            // a java.net.URL or a javax.xml.transform.Source instead.
-            File   schemaLocation = new File(xmlSchemaNameAndPath);
-            String abs_path       = schemaLocation.getAbsolutePath(); // FIXME:path is wrong!
-            Schema schema         = factory.newSchema(schemaLocation);
+            // 1. Get the compiled schema, compiling it only the first
+            // time it is asked for.
+            Schema schema = getSchema(new File(xmlSchemaNameAndPath).toURI().toURL());
             
-            // 3. Get a validator from the schema.
+            // 2. Get a validator from the schema.
             Validator validator = schema.newValidator();
             
-            // 4. Parse the document you want to check.
+            // 3. Parse the document you want to check.
             Source source = new StreamSource(xmlDocNameAndPath);
             
-            // 5. Check the document
+            // 4. Check the document
             validator.validate(source);
             return true;
         }
@@ -82,23 +110,52 @@ public class XMLUtilities {
     }
 
     public boolean validateXML(URL datapath, URL schemapath) {
-        SchemaFactory schemaFactory = SchemaFactory.newInstance(SCHEMA_STANDARD_SPEC_URL);
-        try {
-            Schema    schema    = schemaFactory.newSchema(schemapath);
-            Validator validator = schema.newValidator();
-            Source    source    = new StreamSource(datapath.openStream());
-            validator.validate(source);
+        try (InputStream in = datapath.openStream()) {
+            Validator validator = getSchema(schemapath).newValidator();
+            validator.validate(new StreamSource(in));
             return true;
         } catch (SAXException | IOException e) {
             return false;
         }
     }
+
+    /**
+     * This method returns the compiled schema at the given location. A
+     * schema is compiled only the first time it is asked for, and the
+     * same Schema object, which is thread-safe, is returned every time
+     * after that.
+     *
+     * @param schemaURL Location of the schema.
+     * @return The compiled schema.
+     * @throws SAXException Thrown if the schema cannot be read or compiled.
+     */
+    public Schema getSchema(URL schemaURL) throws SAXException {
+        String key    = schemaURL.toExternalForm();
+        Schema schema = schemas.get(key);
+        if (schema == null) {
+            // SCHEMA FACTORIES ARE NOT THREAD-SAFE, SO EACH COMPILATION GETS ITS OWN
+            schema = SchemaFactory.newInstance(SCHEMA_STANDARD_SPEC_URL).newSchema(schemaURL);
+            Schema compiled = schemas.putIfAbsent(key, schema);
+            if (compiled != null)
+                schema = compiled;
+        }
+        return schema;
+    }
+
+    /**
+     * Forgets every compiled schema, e.g. after a schema file has been
+     * edited, so that each one is compiled again when next asked for.
+     */
+    public static void clearSchemaCache() {
+        schemas.clear();
+    }
     
     /**
      * This method reads in the xmlFile, validates it against the
      * schemaFile, and if valid, loads it into a WhitespaceFreeXMLDoc
      * and returns it, which helps because that's a much easier
-     * format for us to deal with.
+     * format for us to deal with. The file is validated while it is
+     * being parsed, so it is read only once.
      *
      * @param xmlFile Path and name of xml file to load.
      * @param xsdFile Path and name of schema file to use for validation.
@@ -108,44 +165,141 @@ public class XMLUtilities {
      */
     public Document loadXMLDocument(String xmlFile, String xsdFile)
             throws InvalidXMLFileFormatException {
-        // FIRST VALIDATE
-        boolean isValid = validateXMLDoc(xmlFile, xsdFile);
-        if (!isValid) {
-            throw new InvalidXMLFileFormatException(xmlFile, xsdFile);
-        }
-        
-        // THIS IS JAVA API STUFF
-        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
         try {
-            // FIRST RETRIEVE AND LOAD THE FILE INTO A TREE
-            DocumentBuilder db     = dbf.newDocumentBuilder();
-            Document        xmlDoc = db.parse(xmlFile);
+            // FIRST RETRIEVE THE COMPILED SCHEMA
+            Schema schema = getSchema(new File(xsdFile).toURI().toURL());
+
+            // THEN LOAD THE FILE INTO A TREE, VALIDATING IT ON THE WAY
+            Document xmlDoc = newDocumentBuilder(schema).parse(xmlFile);
             xmlDoc.getDocumentElement().normalize();
 
             // LET'S RETURN THE DOC
             return xmlDoc;
         }
         // THESE ARE XML-RELATED ERRORS THAT COULD HAPPEN DURING
-        // LOADING AND PARSING IF THE XML FILE IS NOT WELL FORMED
-        // OR IS NOW WHERE AND WHAT WE SAY IT IS
+        // LOADING AND PARSING IF THE XML FILE IS NOT WELL FORMED,
+        // IS NOT VALID, OR IS NOW WHERE AND WHAT WE SAY IT IS
         catch (ParserConfigurationException | SAXException | IOException pce) {
-            throw new InvalidXMLFileFormatException(xmlFile);
+            throw new InvalidXMLFileFormatException(xmlFile, xsdFile);
         }
     }
 
     public Document loadXMLDocument(URL xmlFileURL, URL schemaFileURL) throws InvalidXMLFileFormatException {
-        if (!validateXML(xmlFileURL, schemaFileURL))
-            throw new InvalidXMLFileFormatException(xmlFileURL.getFile(), schemaFileURL.getFile());
-        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-        try {
-            DocumentBuilder builder  = documentBuilderFactory.newDocumentBuilder();
-            Document        document = builder.parse(xmlFileURL.openStream());
+        try (InputStream in = xmlFileURL.openStream()) {
+            Document document = newDocumentBuilder(getSchema(schemaFileURL)).parse(in);
             document.getDocumentElement().normalize();
             return document;
         } catch (ParserConfigurationException | IOException | SAXException e) {
-            throw new InvalidXMLFileFormatException(xmlFileURL.getFile());
+            throw new InvalidXMLFileFormatException(xmlFileURL.getFile(), schemaFileURL.getFile());
+        }
+    }
+
+    /**
+     * This helper method makes a document builder that validates what
+     * it parses against the given schema, and fails on the first error
+     * rather than only reporting it.
+     */
+    private DocumentBuilder newDocumentBuilder(Schema schema) throws ParserConfigurationException {
+        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        documentBuilderFactory.setNamespaceAware(true);
+        documentBuilderFactory.setSchema(schema);
+        DocumentBuilder builder = documentBuilderFactory.newDocumentBuilder();
+        builder.setErrorHandler(new DefaultHandler() {
+            @Override
+            public void error(SAXParseException e) throws SAXException {
+                throw e;
+            }
+        });
+        return builder;
+    }
+
+    /**
+     * This method reads the xml file in a single pass, validating it
+     * against the schema and handing each element to the visitor as it
+     * goes. Unlike loading the file into a Document, this never holds
+     * more of the file in memory than the elements that are open at the
+     * current point, so it suits files of any size.
+     * <p>
+     * The visitor sees every element of the file before the file is found
+     * to be invalid, if it is; its work should be discarded when this
+     * method throws.
+     *
+     * @param xmlFileURL    Location of the xml file to read.
+     * @param schemaFileURL Location of the schema to use for validation.
+     * @param visitor       Receives the elements of the file, in document order.
+     * @throws InvalidXMLFileFormatException Thrown if the file cannot be read, is
+     *                                       not valid, or the visitor stops reading.
+     */
+    public void streamXML(URL xmlFileURL, URL schemaFileURL, XMLElementVisitor visitor)
+            throws InvalidXMLFileFormatException {
+        try (InputStream in = xmlFileURL.openStream()) {
+            ValidatorHandler validator = getSchema(schemaFileURL).newValidatorHandler();
+            XMLStreamReader  reader    = StAX.inputFactory.createXMLStreamReader(in);
+            try {
+                stream(reader, validator, visitor);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | SAXException | IOException e) {
+            throw new InvalidXMLFileFormatException(xmlFileURL.getFile(), schemaFileURL.getFile());
         }
     }
+
+    /**
+     * This helper method feeds the events of a StAX reader to both the
+     * validator, as SAX events, and the visitor.
+     */
+    private void stream(XMLStreamReader reader, ValidatorHandler validator, XMLElementVisitor visitor)
+            throws XMLStreamException, SAXException {
+        Deque<StringBuilder> texts = new ArrayDeque<>(); // the text directly inside each open element
+        validator.startDocument();
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    for (int i = 0; i < reader.getNamespaceCount(); i++)
+                        validator.startPrefixMapping(nonNull(reader.getNamespacePrefix(i)),
+                                                     nonNull(reader.getNamespaceURI(i)));
+                    AttributesImpl      attributes = new AttributesImpl();
+                    Map<String, String> visited    = new LinkedHashMap<>();
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        QName name = reader.getAttributeName(i);
+                        attributes.addAttribute(nonNull(name.getNamespaceURI()), name.getLocalPart(), qualified(name),
+                                                reader.getAttributeType(i), reader.getAttributeValue(i));
+                        visited.put(name.getLocalPart(), reader.getAttributeValue(i));
+                    }
+                    validator.startElement(nonNull(reader.getNamespaceURI()), reader.getLocalName(),
+                                           qualified(reader.getName()), attributes);
+                    visitor.startElement(reader.getLocalName(), visited);
+                    texts.push(new StringBuilder());
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    validator.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    if (!texts.isEmpty())
+                        texts.peek().append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    validator.endElement(nonNull(reader.getNamespaceURI()), reader.getLocalName(),
+                                         qualified(reader.getName()));
+                    for (int i = 0; i < reader.getNamespaceCount(); i++)
+                        validator.endPrefixMapping(nonNull(reader.getNamespacePrefix(i)));
+                    visitor.endElement(reader.getLocalName(), texts.pop().toString().trim());
+                    break;
+                default:
+                    break; // comments, processing instructions and the like mean nothing to either
+            }
+        }
+        validator.endDocument();
+    }
+
+    private static String nonNull(String s) {
+        return s == null ? "" : s;
+    }
+
+    private static String qualified(QName name) {
+        return name.getPrefix().isEmpty() ? name.getLocalPart() : name.getPrefix() + ":" + name.getLocalPart();
+    }
     
     /**
      * This method extracts the data found in the doc argument that